@@ -7,6 +7,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import shanepark.foodbox.api.config.StorageConfig;
 import shanepark.foodbox.crawl.CrawlConfig;
 import shanepark.foodbox.slack.SlackConfig;
 
@@ -21,6 +22,7 @@ public class FoodboxApplication {
 
     private final CrawlConfig crawlConfig;
     private final SlackConfig slackConfig;
+    private final StorageConfig storageConfig;
 
     @PostConstruct
     public void init() {
@@ -32,6 +34,7 @@ public class FoodboxApplication {
 
         log.info("CrawlConfig: {}", crawlConfig);
         log.info("SlackConfig: {}", slackConfig);
+        log.info("StorageConfig: {}", storageConfig);
         log.info("Time zone: {}", System.getProperty("user.timezone"));
         log.info("Current time: {}", LocalDateTime.now());
 
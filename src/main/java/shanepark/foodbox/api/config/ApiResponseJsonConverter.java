@@ -0,0 +1,46 @@
+package shanepark.foodbox.api.config;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.service.ApiResponseJsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link ApiResponse} JSON bodies through {@link ApiResponseJsonWriter}. Other media types (CBOR, Smile)
+ * are left to the Jackson converters behind it.
+ */
+class ApiResponseJsonConverter extends AbstractHttpMessageConverter<ApiResponse> {
+
+    private final ApiResponseJsonWriter writer;
+
+    ApiResponseJsonConverter(ApiResponseJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = writer;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected ApiResponse readInternal(Class<? extends ApiResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiResponse is not accepted as a request body", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(ApiResponse response, HttpOutputMessage outputMessage) throws IOException {
+        writer.write(response, outputMessage.getBody());
+    }
+
+}
@@ -0,0 +1,29 @@
+package shanepark.foodbox.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import shanepark.foodbox.api.repository.BinaryMenuStore;
+import shanepark.foodbox.api.repository.MenuRepository;
+import shanepark.foodbox.api.repository.MenuStore;
+import shanepark.foodbox.api.repository.SqlMenuStore;
+
+import java.io.File;
+
+@Configuration
+@Slf4j
+public class MenuStoreConfig {
+
+    @Bean
+    public MenuStore menuStore(@Qualifier("dbFile") File dbFile, ObjectMapper mapper, StorageConfig storageConfig) {
+        log.info("Menu store backend: {}", storageConfig.getBackend());
+        return switch (storageConfig.getBackend()) {
+            case JSON -> new MenuRepository(dbFile, mapper, storageConfig);
+            case BINARY -> new BinaryMenuStore(dbFile, mapper);
+            case SQL -> new SqlMenuStore(dbFile, mapper);
+        };
+    }
+
+}
@@ -0,0 +1,78 @@
+package shanepark.foodbox.api.config;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.With;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "foodbox.storage")
+@RequiredArgsConstructor
+@Getter
+@With
+@ToString
+public class StorageConfig {
+    private final Backend backend;
+    private final boolean journalEnabled;
+    private final long journalCompactBytes;
+    private final Layout layout;
+    private final int retentionMonths;
+    private final RetentionAction retentionAction;
+    private final boolean watchEnabled;
+    private final Duration commitWindow;
+    private final FsyncPolicy fsyncPolicy;
+    private final Duration fsyncInterval;
+
+    public static StorageConfig defaults() {
+        return new StorageConfig(Backend.JSON, false, 256 * 1024, Layout.SINGLE, 0, RetentionAction.ARCHIVE, false,
+                Duration.ofMillis(50), FsyncPolicy.ALWAYS, Duration.ofSeconds(1));
+    }
+
+    public enum Backend {
+        /**
+         * db.json, held in memory as a sorted snapshot
+         */
+        JSON,
+        /**
+         * db.bin, memory-mapped and read in place
+         */
+        BINARY,
+        /**
+         * embedded H2 database file, indexed by date
+         */
+        SQL,
+    }
+
+    public enum Layout {
+        /**
+         * every menu in db.json
+         */
+        SINGLE,
+        /**
+         * one db-yyyy-MM.json segment per month
+         */
+        MONTHLY,
+    }
+
+    public enum RetentionAction {
+        ARCHIVE,
+        DROP,
+    }
+
+    public enum FsyncPolicy {
+        /**
+         * force every group commit to disk before completing it
+         */
+        ALWAYS,
+        /**
+         * force on a fixed interval; commits complete at the next force
+         */
+        INTERVAL,
+        /**
+         * leave flushing to the OS
+         */
+        NEVER,
+    }
+}
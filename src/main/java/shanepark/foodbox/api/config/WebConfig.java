@@ -0,0 +1,23 @@
+package shanepark.foodbox.api.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import shanepark.foodbox.api.service.ApiResponseJsonWriter;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ApiResponseJsonWriter apiResponseJsonWriter;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // ahead of the Jackson converter, which would otherwise take every JSON ApiResponse
+        converters.add(0, new ApiResponseJsonConverter(apiResponseJsonWriter));
+    }
+
+}
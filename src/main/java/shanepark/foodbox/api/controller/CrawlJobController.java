@@ -0,0 +1,82 @@
+package shanepark.foodbox.api.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.BackfillProgress;
+import shanepark.foodbox.api.domain.CrawlJob;
+import shanepark.foodbox.api.service.CrawlJobService;
+import shanepark.foodbox.api.service.MenuBackfillService;
+
+import java.net.URI;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class CrawlJobController {
+
+    private final CrawlJobService crawlJobService;
+    private final MenuBackfillService menuBackfillService;
+
+    /**
+     * Starts a crawl in the background (or hands back the one already running) and answers 202 Accepted right
+     * away, with the job's URL in Location. GET is kept for the callers of the old synchronous endpoint.
+     */
+    @RequestMapping(value = "/crawl", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<ApiResponse> submit() {
+        CrawlJob job = crawlJobService.submit();
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/crawl/{id}")
+                .buildAndExpand(job.id())
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(ApiResponse.success(job));
+    }
+
+    /**
+     * Starts backfilling the months from {@code from} to {@code to} ({@code yyyy-MM}) in the background, or hands
+     * back the progress of the backfill already running.
+     */
+    @PostMapping("/crawl/backfill")
+    public ResponseEntity<ApiResponse> backfill(@RequestParam YearMonth from, @RequestParam YearMonth to) {
+        BackfillProgress progress = menuBackfillService.start(from, to);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/crawl/backfill")
+                .build()
+                .toUri();
+        return ResponseEntity.accepted()
+                .location(location)
+                .body(ApiResponse.success(progress));
+    }
+
+    @GetMapping("/crawl/backfill")
+    public ApiResponse getBackfill() {
+        return ApiResponse.success(menuBackfillService.progress());
+    }
+
+    @GetMapping("/crawl/{id}")
+    public ApiResponse getJob(@PathVariable String id) {
+        return ApiResponse.success(crawlJobService.find(id));
+    }
+
+    /**
+     * Server-sent events: a {@code job} event with the job's state now and after every change, until it is done.
+     */
+    @GetMapping(value = "/crawl/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String id) {
+        return crawlJobService.subscribe(id);
+    }
+
+}
@@ -1,14 +1,28 @@
 package shanepark.foodbox.api.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import shanepark.foodbox.api.domain.ApiResponse;
-import shanepark.foodbox.api.domain.MenuResponse;
+import shanepark.foodbox.api.domain.MenuFormat;
+import shanepark.foodbox.api.domain.SerializedResponse;
 import shanepark.foodbox.api.service.MenuService;
+import shanepark.foodbox.api.service.MenuUpdateBroadcaster;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
@@ -16,22 +30,121 @@ import java.time.LocalDate;
 public class MenuApiController {
 
     private final MenuService menuService;
+    private final MenuUpdateBroadcaster broadcaster;
+    private final Clock clock;
 
+    /**
+     * Both menu endpoints write the service's pre-serialized {@code ApiResponse} bytes as they are, in JSON or,
+     * if the Accept header prefers it, CBOR or Smile (see {@link MenuFormat}). The weak ETag and Last-Modified
+     * headers let Spring answer If-None-Match / If-Modified-Since with 304 Not Modified, and clients that
+     * accept gzip get the variant compressed when the data changed.
+     */
     @GetMapping("/menu/today")
-    public ApiResponse getTodayMenu() {
-        MenuResponse menu = menuService.getTodayMenu(LocalDate.now());
-        return ApiResponse.success(menu);
+    public ResponseEntity<byte[]> getTodayMenu(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Duration untilMidnight = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay());
+        MenuFormat format = MenuFormat.negotiate(accept);
+        return serialized(menuService.getTodayMenuSerialized(now.toLocalDate(), format), format, acceptEncoding,
+                CacheControl.maxAge(untilMidnight));
     }
 
+    /**
+     * Without parameters: the full list, which changes whenever a crawl lands, so clients revalidate every time
+     * (cheap with the ETag). With any of from / to / limit / cursor: one page of that range, newest first.
+     * Like every other {@code ApiResponse}, the page is written in JSON, CBOR or Smile per the Accept header.
+     */
     @GetMapping(value = "/menu")
-    public ApiResponse getMenu() {
-        return ApiResponse.success(menuService.findAll());
+    public ResponseEntity<?> getMenu(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (from == null && to == null && limit == null && cursor == null) {
+            MenuFormat format = MenuFormat.negotiate(accept);
+            return serialized(menuService.findAllSerialized(format), format, acceptEncoding, CacheControl.noCache());
+        }
+        return ResponseEntity.ok(ApiResponse.success(menuService.findPage(from, to, limit, cursor)));
     }
 
-    @GetMapping(value = "/crawl")
-    public String crawl() {
-        menuService.crawl();
-        return "ok";
+    /**
+     * @param date any day of the week to show; defaults to today
+     */
+    @GetMapping("/menu/week")
+    public ApiResponse getWeekMenu(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ApiResponse.success(menuService.findWeek(date != null ? date : LocalDate.now(clock)));
+    }
+
+    /**
+     * @param dates comma separated, e.g. {@code ?dates=2025-08-01,2025-08-04}
+     */
+    @GetMapping("/menu/batch")
+    public ApiResponse getMenus(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> dates) {
+        return ApiResponse.success(menuService.findByDates(dates));
+    }
+
+    /**
+     * Server-sent events: a {@code menu} event with the new or changed menus whenever a crawl stores some,
+     * and a comment heartbeat in between.
+     */
+    @GetMapping(value = "/menu/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return broadcaster.subscribe();
+    }
+
+    private static ResponseEntity<byte[]> serialized(SerializedResponse response, MenuFormat format,
+                                                     String acceptEncoding, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .lastModified(response.lastModified())
+                .cacheControl(cacheControl);
+        if (response.gzipBody() != null && acceptsGzip(acceptEncoding)) {
+            return builder.eTag(response.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(response.gzipBody());
+        }
+        return builder.eTag(response.weakEtag())
+                .body(response.body());
+    }
+
+    /**
+     * @return whether {@code acceptEncoding} accepts gzip, explicitly or through *, with a non-zero q
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = parts.length < 2 || qualityOf(parts[1]) > 0;
+            if (name.equalsIgnoreCase("gzip")) {
+                gzip = accepted;
+            } else if (name.equals("*")) {
+                any = accepted;
+            }
+        }
+        return gzip != null ? gzip : Boolean.TRUE.equals(any);
+    }
+
+    private static double qualityOf(String param) {
+        String[] pair = param.split("=");
+        if (pair.length != 2 || !pair[0].trim().equalsIgnoreCase("q")) {
+            return 1;
+        }
+        try {
+            return Double.parseDouble(pair[1].trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
     }
 
 }
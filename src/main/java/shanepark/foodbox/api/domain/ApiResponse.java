@@ -24,10 +24,22 @@ public record ApiResponse(
         return new ApiResponse(OK.value(), null, menu);
     }
 
-    public static ApiResponse success(List<MenuResponse> list) {
+    public static ApiResponse success(List<?> list) {
         return new ApiResponse(OK.value(), null, list);
     }
 
+    public static ApiResponse success(MenuPage page) {
+        return new ApiResponse(OK.value(), null, page);
+    }
+
+    public static ApiResponse success(CrawlJob job) {
+        return new ApiResponse(OK.value(), null, job);
+    }
+
+    public static ApiResponse success(BackfillProgress progress) {
+        return new ApiResponse(OK.value(), null, progress);
+    }
+
     public static ApiResponse fail(Exception e) {
         String errorCode = getErrorCode(e);
         int statusCode = getStatusCode(e);
@@ -0,0 +1,25 @@
+package shanepark.foodbox.api.domain;
+
+import java.util.List;
+
+/**
+ * Where the backfill of past months through {@code /api/crawl/backfill} stands. Null months mean no backfill was
+ * ever started.
+ *
+ * @param from   first month of the range, as {@code yyyy-MM}
+ * @param to     last month of the range, as {@code yyyy-MM}
+ * @param done   months crawled and saved, kept across restarts
+ * @param failed months whose crawl or save failed in the current or last run; the next run retries them
+ */
+public record BackfillProgress(
+        String from,
+        String to,
+        boolean running,
+        int totalMonths,
+        List<String> done,
+        List<String> failed
+) {
+
+    public static final BackfillProgress NONE = new BackfillProgress(null, null, false, 0, List.of(), List.of());
+
+}
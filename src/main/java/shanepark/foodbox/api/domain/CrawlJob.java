@@ -0,0 +1,55 @@
+package shanepark.foodbox.api.domain;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.With;
+
+import java.time.Instant;
+
+/**
+ * One crawl submitted through {@code /api/crawl}. Each phase timing is filled in when that phase ends; they all
+ * stay null when the job joined a crawl that something else had started (a scheduled notification, a missing
+ * menu).
+ *
+ * @param crawledMenus menus found on the page
+ * @param changedMenus of those, the ones that were new or changed and got written
+ * @param error        message of the failure, only when {@code status} is {@link Status#FAILED}
+ */
+@With
+public record CrawlJob(
+        String id,
+        Status status,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) Instant submittedAt,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) Instant startedAt,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) Instant finishedAt,
+        Long fetchMillis,
+        Long parseMillis,
+        Long persistMillis,
+        Integer crawledMenus,
+        Integer changedMenus,
+        String error
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        /**
+         * Nothing parsed or saved: the page had not changed since the last crawl.
+         */
+        UNCHANGED,
+        /**
+         * Nothing crawled: the last successful crawl was within {@code crawl.min-interval}.
+         */
+        SKIPPED,
+        FAILED;
+
+        public boolean isDone() {
+            return this == SUCCEEDED || this == UNCHANGED || this == SKIPPED || this == FAILED;
+        }
+    }
+
+    public static CrawlJob queued(String id, Instant submittedAt) {
+        return new CrawlJob(id, Status.QUEUED, submittedAt, null, null, null, null, null, null, null, null);
+    }
+
+}
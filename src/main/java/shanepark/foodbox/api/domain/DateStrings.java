@@ -0,0 +1,35 @@
+package shanepark.foodbox.api.domain;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ISO-8601 strings of menu dates. Every response that shows a date gets the same String instance instead of
+ * formatting a new one per menu per request.
+ */
+public final class DateStrings {
+
+    /**
+     * Far more than the dates any deployment serves; past this the cache starts over rather than grow.
+     */
+    private static final int MAX_CACHED = 4096;
+    private static final Map<LocalDate, String> CACHE = new ConcurrentHashMap<>();
+
+    private DateStrings() {
+    }
+
+    public static String of(LocalDate date) {
+        String cached = CACHE.get(date);
+        if (cached != null) {
+            return cached;
+        }
+        if (CACHE.size() >= MAX_CACHED) {
+            CACHE.clear();
+        }
+        String formatted = date.toString();
+        String raced = CACHE.putIfAbsent(date, formatted);
+        return raced != null ? raced : formatted;
+    }
+
+}
@@ -19,9 +19,16 @@ public class Menu implements Comparable<Menu> {
     private boolean isValid;
 
     public Menu(LocalDate date, List<String> menus) {
+        this(date, menus, menus.size() > 2);
+    }
+
+    /**
+     * For rebuilding a stored menu as it was saved, including a validity flag that no longer matches its items.
+     */
+    public Menu(LocalDate date, List<String> menus, boolean isValid) {
         this.date = date;
         this.menus = menus;
-        this.isValid = menus.size() > 2;
+        this.isValid = isValid;
     }
 
     @Override
@@ -0,0 +1,72 @@
+package shanepark.foodbox.api.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Representations of an {@link ApiResponse} the menu endpoints serve, picked by the Accept header. CBOR and
+ * Smile are Jackson's binary encodings of the very same tree, so field names and values match the JSON one.
+ */
+public enum MenuFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    MenuFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return a mapper with the modules and settings of {@code json} that writes this format
+     */
+    public ObjectMapper mapperFrom(ObjectMapper json) {
+        return switch (this) {
+            case JSON -> json;
+            case CBOR -> json.copyWith(new CBORFactory());
+            case SMILE -> json.copyWith(new SmileFactory());
+        };
+    }
+
+    /**
+     * @return the format of the most preferred media type in {@code accept} that one of them matches, JSON
+     * first for wildcards; JSON when {@code accept} is missing, malformed or matches none of them
+     */
+    public static MenuFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (MenuFormat format : values()) {
+                if (mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+}
@@ -0,0 +1,22 @@
+package shanepark.foodbox.api.domain;
+
+/**
+ * Result of looking up one date of a batch.
+ *
+ * @param menu the menu, only when {@code status} is {@link Status#FOUND}
+ */
+public record MenuLookup(String date, Status status, MenuResponse menu) {
+
+    public enum Status {
+        FOUND,
+        /**
+         * No lunch boxes on Saturdays and Sundays.
+         */
+        WEEKEND,
+        /**
+         * A weekday whose menu is not (or not yet) on the site.
+         */
+        NOT_UPLOADED
+    }
+
+}
@@ -0,0 +1,10 @@
+package shanepark.foodbox.api.domain;
+
+import java.util.List;
+
+/**
+ * @param menus      newest first
+ * @param nextCursor pass as {@code cursor} to get the next (older) page, or null on the last page
+ */
+public record MenuPage(List<MenuResponse> menus, String nextCursor) {
+}
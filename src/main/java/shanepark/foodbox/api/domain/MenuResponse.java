@@ -1,10 +1,27 @@
 package shanepark.foodbox.api.domain;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.Instant;
 import java.util.List;
 
-public record MenuResponse(String date, List<String> menus, boolean isValid) {
+/**
+ * @param crawledAt when the data was last confirmed by a crawl, or null if no crawl was recorded
+ * @param stale     whether {@code crawledAt} is older than {@code crawl.ttl} (or unknown)
+ */
+public record MenuResponse(String date, List<String> menus, boolean isValid,
+                           @JsonFormat(shape = JsonFormat.Shape.STRING) Instant crawledAt, boolean stale) {
+
+    public MenuResponse(String date, List<String> menus, boolean isValid) {
+        this(date, menus, isValid, null, false);
+    }
+
     public static MenuResponse of(Menu menu) {
-        return new MenuResponse(menu.getDate().toString(), menu.getMenus(), menu.isValid());
+        return of(menu, null, false);
+    }
+
+    public static MenuResponse of(Menu menu, Instant crawledAt, boolean stale) {
+        return new MenuResponse(DateStrings.of(menu.getDate()), menu.getMenus(), menu.isValid(), crawledAt, stale);
     }
 
 }
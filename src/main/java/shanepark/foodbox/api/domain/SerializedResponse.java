@@ -0,0 +1,36 @@
+package shanepark.foodbox.api.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * A ready-to-write body in one {@link MenuFormat}, its gzip-encoded variant and the validators to send along
+ * with them.
+ *
+ * @param version      store version the body was built from
+ * @param date         the day the body is for, or null if it does not depend on the date
+ * @param body         the response in the requested format (UTF-8 for JSON)
+ * @param gzipBody     {@code body} gzip-encoded, or null if that would not make it smaller
+ * @param etag         opaque tag of the data and format in {@code body}, without quotes. It does not cover the
+ *                     freshness fields, which change while the data does not, so it is only ever sent as a
+ *                     weak validator
+ * @param lastModified when the data in {@code body} last changed
+ */
+public record SerializedResponse(long version, LocalDate date, byte[] body, byte[] gzipBody, String etag,
+                                 Instant lastModified) {
+
+    /**
+     * @return weak entity tag of {@code body}: semantically the same menus, not necessarily the same bytes
+     */
+    public String weakEtag() {
+        return "W/\"" + etag + "\"";
+    }
+
+    /**
+     * @return weak entity tag of {@code gzipBody}; a different encoding is a different representation
+     */
+    public String gzipEtag() {
+        return "W/\"" + etag + "-gzip\"";
+    }
+
+}
@@ -0,0 +1,19 @@
+package shanepark.foodbox.api.exception;
+
+public class CrawlJobNotFoundException extends RuntimeException implements FoodboxException {
+
+    public CrawlJobNotFoundException(String id) {
+        super("No crawl job " + id);
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "CRAWL_JOB_NOT_FOUND";
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 404;
+    }
+
+}
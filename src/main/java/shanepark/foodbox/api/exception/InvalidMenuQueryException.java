@@ -0,0 +1,19 @@
+package shanepark.foodbox.api.exception;
+
+public class InvalidMenuQueryException extends RuntimeException implements FoodboxException {
+
+    public InvalidMenuQueryException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "INVALID_MENU_QUERY";
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 400;
+    }
+
+}
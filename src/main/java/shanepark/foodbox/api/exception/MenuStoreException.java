@@ -0,0 +1,18 @@
+package shanepark.foodbox.api.exception;
+
+public class MenuStoreException extends RuntimeException implements FoodboxException {
+
+    public MenuStoreException(Exception e) {
+        super(e.getMessage(), e);
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "MENU_STORE_ERROR";
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 500;
+    }
+}
@@ -0,0 +1,19 @@
+package shanepark.foodbox.api.exception;
+
+public class MonthUrlNotConfiguredException extends RuntimeException implements FoodboxException {
+
+    public MonthUrlNotConfiguredException() {
+        super("crawl.month-url is not configured");
+    }
+
+    @Override
+    public String getErrorCode() {
+        return "MONTH_URL_NOT_CONFIGURED";
+    }
+
+    @Override
+    public int getStatusCode() {
+        return 409;
+    }
+
+}
@@ -0,0 +1,263 @@
+package shanepark.foodbox.api.repository;
+
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Read-only, memory-mapped menu file.
+ * <pre>
+ * header  : magic(int) version(int) firstEpochDay(long) dayCount(int) reserved(int)
+ * index   : dayCount x [offset(int) length(int)], one slot per day starting at firstEpochDay, offset 0 = no menu
+ * records : flags(byte) itemCount(short) [nullItems(ceil(itemCount / 8) bytes)] then itemCount x [byteLength(short) utf8 bytes]
+ * </pre>
+ * The flags tell whether the menu was stored as valid, whether its item list is null (itemCount is 0 then) and
+ * whether the bitmap of null items follows, in which case a null item is written as zero bytes. Version 1 files
+ * have neither flags nor bitmap and are still read, with validity recomputed from the items.
+ * Both shorts are read unsigned, so a menu holds at most {@value #MAX_RECORD_FIELD} items of at most
+ * {@value #MAX_RECORD_FIELD} UTF-8 bytes each; {@link #write} rejects anything larger.
+ * Opening the file only maps it, so startup does not depend on how much history is stored. Instances are
+ * immutable and safe to share between threads: every read uses absolute positions on the mapped buffer.
+ */
+final class BinaryMenuFile {
+
+    private static final int MAGIC = 0x46424F58; // FBOX
+    private static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_FLAGS = 1;
+    private static final int VALID = 1;
+    private static final int NULL_ITEMS = 1 << 1;
+    private static final int HAS_NULL_ITEM = 1 << 2;
+    private static final int HEADER_SIZE = 24;
+    private static final int INDEX_ENTRY_SIZE = 8;
+    static final int MAX_RECORD_FIELD = 0xFFFF;
+
+    private static final BinaryMenuFile EMPTY = new BinaryMenuFile(ByteBuffer.allocate(0), VERSION, 0, 0);
+
+    private final ByteBuffer buffer;
+    private final int version;
+    private final long firstEpochDay;
+    private final int dayCount;
+
+    private BinaryMenuFile(ByteBuffer buffer, int version, long firstEpochDay, int dayCount) {
+        this.buffer = buffer;
+        this.version = version;
+        this.firstEpochDay = firstEpochDay;
+        this.dayCount = dayCount;
+    }
+
+    static BinaryMenuFile open(File file) throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            return EMPTY;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.capacity() < HEADER_SIZE || mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not a menu binary file: " + file);
+            }
+            int version = mapped.getInt(4);
+            if (version != VERSION && version != VERSION_WITHOUT_FLAGS) {
+                throw new IOException("Unsupported menu binary file version: " + version);
+            }
+            return new BinaryMenuFile(mapped, version, mapped.getLong(8), mapped.getInt(16));
+        }
+    }
+
+    /**
+     * Writes {@code menus} to a temp file, forces it to the disk and atomically moves it over {@code file}, so a
+     * crash leaves either the old or the new file in full.
+     *
+     * @throws IllegalArgumentException if a menu does not fit a record; nothing is written then
+     */
+    static void write(File file, Collection<Menu> menus) throws IOException {
+        NavigableMap<LocalDate, Menu> sorted = new TreeMap<>();
+        for (Menu menu : menus) {
+            sorted.put(menu.getDate(), menu);
+        }
+        long first = sorted.isEmpty() ? 0 : sorted.firstKey().toEpochDay();
+        int days = sorted.isEmpty() ? 0 : Math.toIntExact(sorted.lastKey().toEpochDay() - first + 1);
+
+        List<byte[]> records = new ArrayList<>(sorted.size());
+        for (Menu menu : sorted.values()) {
+            records.add(encode(menu));
+        }
+
+        File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tempFile);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(first);
+            out.writeInt(days);
+            out.writeInt(0);
+
+            int[] offsets = new int[days];
+            int[] lengths = new int[days];
+            int offset = HEADER_SIZE + days * INDEX_ENTRY_SIZE;
+            Iterator<byte[]> recordIterator = records.iterator();
+            for (Menu menu : sorted.values()) {
+                int slot = (int) (menu.getDate().toEpochDay() - first);
+                int length = recordIterator.next().length;
+                offsets[slot] = offset;
+                lengths[slot] = length;
+                offset += length;
+            }
+            for (int i = 0; i < days; i++) {
+                out.writeInt(offsets[i]);
+                out.writeInt(lengths[i]);
+            }
+            for (byte[] record : records) {
+                out.write(record);
+            }
+            out.flush();
+            // otherwise the rename can reach the disk before the bytes it points at
+            fileOut.getChannel().force(true);
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    Optional<Menu> find(LocalDate date) {
+        long slot = date.toEpochDay() - firstEpochDay;
+        if (slot < 0 || slot >= dayCount) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(readSlot((int) slot));
+    }
+
+    /**
+     * @return menus dated within [from, to], oldest first
+     */
+    List<Menu> findRange(LocalDate from, LocalDate to) {
+        long firstSlot = Math.max(0, from.toEpochDay() - firstEpochDay);
+        long lastSlot = Math.min(dayCount - 1L, to.toEpochDay() - firstEpochDay);
+        List<Menu> menus = new ArrayList<>();
+        for (long slot = firstSlot; slot <= lastSlot; slot++) {
+            Menu menu = readSlot((int) slot);
+            if (menu != null) {
+                menus.add(menu);
+            }
+        }
+        return menus;
+    }
+
+    /**
+     * @return at most {@code limit} menus dated within [from, to], newest first
+     */
+    List<Menu> findRangeDescending(LocalDate from, LocalDate to, int limit) {
+        long firstSlot = Math.max(0, from.toEpochDay() - firstEpochDay);
+        long lastSlot = Math.min(dayCount - 1L, to.toEpochDay() - firstEpochDay);
+        List<Menu> menus = new ArrayList<>();
+        for (long slot = lastSlot; slot >= firstSlot && menus.size() < limit; slot--) {
+            Menu menu = readSlot((int) slot);
+            if (menu != null) {
+                menus.add(menu);
+            }
+        }
+        return menus;
+    }
+
+    /**
+     * @return every stored menu, newest first
+     */
+    List<Menu> findAll() {
+        return findRangeDescending(LocalDate.MIN, LocalDate.MAX, Integer.MAX_VALUE);
+    }
+
+    private Menu readSlot(int slot) {
+        int entry = HEADER_SIZE + slot * INDEX_ENTRY_SIZE;
+        int offset = buffer.getInt(entry);
+        if (offset == 0) {
+            return null;
+        }
+        return decode(LocalDate.ofEpochDay(firstEpochDay + slot), offset);
+    }
+
+    private Menu decode(LocalDate date, int offset) {
+        int position = offset;
+        int flags = 0;
+        if (version != VERSION_WITHOUT_FLAGS) {
+            flags = buffer.get(position);
+            position++;
+        }
+        int itemCount = buffer.getShort(position) & 0xFFFF;
+        position += 2;
+        int nullItems = 0;
+        if ((flags & HAS_NULL_ITEM) != 0) {
+            nullItems = position;
+            position += (itemCount + 7) / 8;
+        }
+        List<String> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            int length = buffer.getShort(position) & 0xFFFF;
+            position += 2;
+            if (nullItems != 0 && (buffer.get(nullItems + i / 8) & (1 << (i % 8))) != 0) {
+                items.add(null);
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            position += length;
+            items.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        if (version == VERSION_WITHOUT_FLAGS) {
+            return new Menu(date, items);
+        }
+        return new Menu(date, (flags & NULL_ITEMS) != 0 ? null : items, (flags & VALID) != 0);
+    }
+
+    private static byte[] encode(Menu menu) {
+        List<String> menuItems = menu.getMenus() != null ? menu.getMenus() : List.of();
+        if (menuItems.size() > MAX_RECORD_FIELD) {
+            throw new IllegalArgumentException("Menu of " + menu.getDate() + " has " + menuItems.size()
+                    + " items, at most " + MAX_RECORD_FIELD + " fit a record");
+        }
+        int flags = (menu.isValid() ? VALID : 0) | (menu.getMenus() == null ? NULL_ITEMS : 0);
+        byte[] nullItems = new byte[(menuItems.size() + 7) / 8];
+        List<byte[]> items = new ArrayList<>(menuItems.size());
+        int size = 1 + 2;
+        for (int i = 0; i < menuItems.size(); i++) {
+            String item = menuItems.get(i);
+            if (item == null) {
+                flags |= HAS_NULL_ITEM;
+                nullItems[i / 8] |= (byte) (1 << (i % 8));
+                items.add(new byte[0]);
+                size += 2;
+                continue;
+            }
+            byte[] bytes = item.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_RECORD_FIELD) {
+                throw new IllegalArgumentException("Menu item of " + menu.getDate() + " is " + bytes.length
+                        + " bytes of UTF-8, at most " + MAX_RECORD_FIELD + " fit a record");
+            }
+            items.add(bytes);
+            size += 2 + bytes.length;
+        }
+        if ((flags & HAS_NULL_ITEM) != 0) {
+            size += nullItems.length;
+        }
+        ByteBuffer record = ByteBuffer.allocate(size);
+        record.put((byte) flags);
+        record.putShort((short) items.size());
+        if ((flags & HAS_NULL_ITEM) != 0) {
+            record.put(nullItems);
+        }
+        for (byte[] bytes : items) {
+            record.putShort((short) bytes.length);
+            record.put(bytes);
+        }
+        return record.array();
+    }
+
+}
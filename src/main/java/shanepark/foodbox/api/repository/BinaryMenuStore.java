@@ -0,0 +1,131 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link MenuStore} reading straight from the memory-mapped db.bin. No copy of the history is kept on the heap.
+ */
+@Slf4j
+public class BinaryMenuStore implements MenuStore {
+    private final File dbFile;
+    private final File binaryFile;
+    private final MenuFileReader menuFileReader;
+
+    private volatile BinaryMenuFile binary;
+    private volatile long version;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public BinaryMenuStore(File dbFile, ObjectMapper mapper) {
+        this.dbFile = dbFile;
+        this.binaryFile = new File(dbFile.getParentFile(), "db.bin");
+        this.menuFileReader = new MenuFileReader(mapper);
+    }
+
+    /**
+     * Maps db.bin, converting it from db.json first if it does not exist yet.
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            if (!binaryFile.exists()) {
+                List<Menu> menus = new ArrayList<>();
+                menuFileReader.read(dbFile, date -> true, menus::add);
+                BinaryMenuFile.write(binaryFile, menus);
+                log.info("Converted {} menus from {} to {}", menus.size(), dbFile.getName(), binaryFile.getName());
+            }
+            binary = BinaryMenuFile.open(binaryFile);
+            log.info("Mapped menu binary file: {}", binaryFile.getAbsolutePath());
+        } catch (IOException e) {
+            log.error("Failed to open menu binary file", e);
+            System.exit(1);
+        }
+    }
+
+    @Override
+    public Optional<Menu> findByDate(LocalDate date) {
+        return binary.find(date);
+    }
+
+    @Override
+    public List<Menu> findByDates(Collection<LocalDate> dates) {
+        BinaryMenuFile file = binary;
+        return dates.stream()
+                .distinct()
+                .sorted()
+                .flatMap(date -> file.find(date).stream())
+                .toList();
+    }
+
+    @Override
+    public List<Menu> findRange(LocalDate from, LocalDate to) {
+        return binary.findRange(from, to);
+    }
+
+    @Override
+    public List<Menu> findRangeDescending(LocalDate from, LocalDate to, int limit) {
+        return binary.findRangeDescending(from, to, limit);
+    }
+
+    @Override
+    public List<Menu> findAll() {
+        return binary.findAll();
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    /**
+     * db.bin is rewritten and remapped before returning, since reads go straight to the mapped file. A save that
+     * changes anything therefore costs a read of the whole history into a map and a rewrite of the whole file,
+     * linear in the stored days however few menus changed. That is fine for a crawl a few times a day over
+     * years of history; a write-heavy caller should use the JSON store with its journal instead.
+     * The returned future is already complete: the new file is forced to the disk before it replaces db.bin.
+     * A menu too large for a record fails the future with {@link IllegalArgumentException} and leaves db.bin as
+     * it was.
+     */
+    @Override
+    public CompletableFuture<Void> saveAll(List<Menu> menus) {
+        writeLock.lock();
+        try {
+            return saveAllLocked(menus);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private CompletableFuture<Void> saveAllLocked(List<Menu> menus) {
+        Map<LocalDate, Menu> menuMap = new HashMap<>();
+        for (Menu menu : binary.findAll()) {
+            menuMap.put(menu.getDate(), menu);
+        }
+        boolean changed = false;
+        for (Menu menu : menus) {
+            changed |= !menu.equals(menuMap.put(menu.getDate(), menu));
+        }
+        if (!changed) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            BinaryMenuFile.write(binaryFile, menuMap.values());
+            binary = BinaryMenuFile.open(binaryFile);
+            version++;
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Failed to save menu data", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package shanepark.foodbox.api.repository;
+
+import shanepark.foodbox.api.domain.Menu;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Immutable in-memory menu history laid out as one slot per day from the first stored date. A slot holds the
+ * ids of that day's items in a shared dictionary, so dishes that are served again and again (rice, kimchi, ...)
+ * are kept once. Lookups are an array access on {@code epochDay - firstEpochDay}; {@link Menu} objects are only
+ * materialized for the days a caller asks for, with the validity flag they were stored with. Null items and a
+ * null item list come back as null.
+ * <p>
+ * Updates go through {@link #with(Collection, Collection)}, which returns a new index and leaves this one
+ * untouched, so instances can be shared between threads freely.
+ */
+final class DenseMenuIndex {
+
+    static final DenseMenuIndex EMPTY = new DenseMenuIndex(0, new int[0][], new boolean[0], new String[0], Map.of(), 0);
+
+    /**
+     * Item id of a null item.
+     */
+    private static final int NULL_ITEM = -1;
+
+    /**
+     * Slot of a day whose item list is null, told apart from an empty list by identity.
+     */
+    private static final int[] NULL_ITEMS = new int[0];
+
+    private final long firstEpochDay;
+    private final int[][] days;
+    private final boolean[] valid;
+    private final String[] items;
+    private final Map<String, Integer> itemIds;
+    private final int size;
+
+    private DenseMenuIndex(long firstEpochDay, int[][] days, boolean[] valid, String[] items,
+                           Map<String, Integer> itemIds, int size) {
+        this.firstEpochDay = firstEpochDay;
+        this.days = days;
+        this.valid = valid;
+        this.items = items;
+        this.itemIds = itemIds;
+        this.size = size;
+    }
+
+    static DenseMenuIndex of(Collection<Menu> menus) {
+        return EMPTY.with(menus, List.of());
+    }
+
+    int size() {
+        return size;
+    }
+
+    Menu get(LocalDate date) {
+        long slot = date.toEpochDay() - firstEpochDay;
+        if (slot < 0 || slot >= days.length) {
+            return null;
+        }
+        return materialize((int) slot);
+    }
+
+    /**
+     * @return menus dated within [from, to], oldest first
+     */
+    List<Menu> range(LocalDate from, LocalDate to) {
+        long firstSlot = Math.max(0, from.toEpochDay() - firstEpochDay);
+        long lastSlot = Math.min(days.length - 1L, to.toEpochDay() - firstEpochDay);
+        List<Menu> menus = new ArrayList<>();
+        for (long slot = firstSlot; slot <= lastSlot; slot++) {
+            Menu menu = materialize((int) slot);
+            if (menu != null) {
+                menus.add(menu);
+            }
+        }
+        return menus;
+    }
+
+    /**
+     * @return every menu, oldest first
+     */
+    List<Menu> ascending() {
+        return range(LocalDate.MIN, LocalDate.MAX);
+    }
+
+    /**
+     * @return at most {@code limit} menus dated within [from, to], newest first
+     */
+    List<Menu> rangeDescending(LocalDate from, LocalDate to, int limit) {
+        long firstSlot = Math.max(0, from.toEpochDay() - firstEpochDay);
+        long lastSlot = Math.min(days.length - 1L, to.toEpochDay() - firstEpochDay);
+        List<Menu> menus = new ArrayList<>(Math.min(limit, size));
+        for (long slot = lastSlot; slot >= firstSlot && menus.size() < limit; slot--) {
+            Menu menu = materialize((int) slot);
+            if (menu != null) {
+                menus.add(menu);
+            }
+        }
+        return menus;
+    }
+
+    /**
+     * @return every menu, newest first
+     */
+    List<Menu> descending() {
+        return rangeDescending(LocalDate.MIN, LocalDate.MAX, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return a new index with {@code changes} put and {@code removals} cleared
+     */
+    DenseMenuIndex with(Collection<Menu> changes, Collection<LocalDate> removals) {
+        long first = firstEpochDay;
+        long last = firstEpochDay + days.length - 1;
+        boolean empty = days.length == 0;
+        for (Menu menu : changes) {
+            long epochDay = menu.getDate().toEpochDay();
+            first = empty ? epochDay : Math.min(first, epochDay);
+            last = empty ? epochDay : Math.max(last, epochDay);
+            empty = false;
+        }
+        if (empty) {
+            return this;
+        }
+
+        int[][] nextDays = new int[Math.toIntExact(last - first + 1)][];
+        boolean[] nextValid = new boolean[nextDays.length];
+        System.arraycopy(days, 0, nextDays, (int) (firstEpochDay - first), days.length);
+        System.arraycopy(valid, 0, nextValid, (int) (firstEpochDay - first), valid.length);
+        String[] nextItems = items;
+        Map<String, Integer> nextItemIds = itemIds;
+        List<String> added = new ArrayList<>();
+        Map<String, Integer> addedIds = new HashMap<>();
+        int nextSize = size;
+
+        for (Menu menu : changes) {
+            List<String> menuItems = menu.getMenus();
+            int[] ids = menuItems != null ? new int[menuItems.size()] : NULL_ITEMS;
+            for (int i = 0; i < ids.length; i++) {
+                String item = menuItems.get(i);
+                if (item == null) {
+                    ids[i] = NULL_ITEM;
+                    continue;
+                }
+                Integer id = itemIds.get(item);
+                if (id == null) {
+                    id = addedIds.computeIfAbsent(item, key -> {
+                        added.add(key);
+                        return items.length + added.size() - 1;
+                    });
+                }
+                ids[i] = id;
+            }
+            int slot = (int) (menu.getDate().toEpochDay() - first);
+            if (nextDays[slot] == null) {
+                nextSize++;
+            }
+            nextDays[slot] = ids;
+            nextValid[slot] = menu.isValid();
+        }
+        for (LocalDate date : removals) {
+            long slot = date.toEpochDay() - first;
+            if (slot >= 0 && slot < nextDays.length && nextDays[(int) slot] != null) {
+                nextDays[(int) slot] = null;
+                nextValid[(int) slot] = false;
+                nextSize--;
+            }
+        }
+
+        if (!added.isEmpty()) {
+            nextItems = Arrays.copyOf(items, items.length + added.size());
+            for (int i = 0; i < added.size(); i++) {
+                nextItems[items.length + i] = added.get(i);
+            }
+            Map<String, Integer> ids = new HashMap<>(itemIds);
+            ids.putAll(addedIds);
+            nextItemIds = Collections.unmodifiableMap(ids);
+        }
+        return new DenseMenuIndex(first, nextDays, nextValid, nextItems, nextItemIds, nextSize);
+    }
+
+    private Menu materialize(int slot) {
+        int[] ids = days[slot];
+        if (ids == null) {
+            return null;
+        }
+        LocalDate date = LocalDate.ofEpochDay(firstEpochDay + slot);
+        if (ids == NULL_ITEMS) {
+            return new Menu(date, null, valid[slot]);
+        }
+        String[] menuItems = new String[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            menuItems[i] = ids[i] == NULL_ITEM ? null : items[ids[i]];
+        }
+        return new Menu(date, Collections.unmodifiableList(Arrays.asList(menuItems)), valid[slot]);
+    }
+
+}
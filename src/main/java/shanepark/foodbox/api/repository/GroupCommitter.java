@@ -0,0 +1,185 @@
+package shanepark.foodbox.api.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import shanepark.foodbox.api.config.StorageConfig;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind committer. Saves submitted within one commit window are folded into a single write, and the
+ * returned futures complete once that write is as durable as the {@link StorageConfig.FsyncPolicy} promises:
+ * <ul>
+ *     <li>ALWAYS: after the written files are forced to disk</li>
+ *     <li>INTERVAL: after the next periodic force</li>
+ *     <li>NEVER: as soon as the write reached the OS</li>
+ * </ul>
+ * All writes and forces run on one thread, so the writer never has to deal with concurrent calls.
+ */
+@Slf4j
+class GroupCommitter {
+
+    interface Writer {
+        /**
+         * Persists a batch of changed menus.
+         *
+         * @return the files written, to be forced according to the fsync policy
+         */
+        Collection<File> write(List<Menu> batch) throws IOException;
+    }
+
+    interface Task {
+        /**
+         * @return the files written, to be forced according to the fsync policy
+         */
+        Collection<File> run() throws IOException;
+    }
+
+    private final Writer writer;
+    private final Duration window;
+    private final StorageConfig.FsyncPolicy fsyncPolicy;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("menu-commit").daemon(true).factory());
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private List<Menu> pendingMenus = new ArrayList<>();
+    private List<CompletableFuture<Void>> pendingFutures = new ArrayList<>();
+    private boolean scheduled;
+
+    // commit thread only
+    private final Set<File> unsynced = new HashSet<>();
+    private final List<CompletableFuture<Void>> awaitingSync = new ArrayList<>();
+
+    GroupCommitter(Writer writer, Duration window, StorageConfig.FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        this.writer = writer;
+        this.window = window;
+        this.fsyncPolicy = fsyncPolicy;
+        if (fsyncPolicy == StorageConfig.FsyncPolicy.INTERVAL) {
+            long millis = fsyncInterval.toMillis();
+            executor.scheduleWithFixedDelay(this::syncUnsynced, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    CompletableFuture<Void> submit(List<Menu> changed) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        lock.lock();
+        try {
+            pendingMenus.addAll(changed);
+            pendingFutures.add(future);
+            if (!scheduled) {
+                scheduled = true;
+                executor.schedule(this::commit, window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return future;
+    }
+
+    private void commit() {
+        List<Menu> batch;
+        List<CompletableFuture<Void>> futures;
+        lock.lock();
+        try {
+            batch = pendingMenus;
+            futures = pendingFutures;
+            pendingMenus = new ArrayList<>();
+            pendingFutures = new ArrayList<>();
+            scheduled = false;
+        } finally {
+            lock.unlock();
+        }
+        if (futures.isEmpty()) {
+            return;
+        }
+
+        try {
+            finish(writer.write(batch), futures);
+        } catch (Throwable e) {
+            log.warn("Failed to commit {} menus", batch.size(), e);
+            futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Runs {@code task} on the commit thread, after the commits already running and before the next one, and
+     * forces what it wrote like a commit.
+     *
+     * @return completes once the task's writes are durable according to the fsync policy
+     */
+    CompletableFuture<Void> execute(Task task) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                finish(task.run(), List.of(future));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    private void finish(Collection<File> written, List<CompletableFuture<Void>> futures) throws IOException {
+        switch (fsyncPolicy) {
+            case ALWAYS -> {
+                force(written);
+                futures.forEach(future -> future.complete(null));
+            }
+            case INTERVAL -> {
+                unsynced.addAll(written);
+                awaitingSync.addAll(futures);
+            }
+            case NEVER -> futures.forEach(future -> future.complete(null));
+        }
+    }
+
+    private void syncUnsynced() {
+        try {
+            force(unsynced);
+            awaitingSync.forEach(future -> future.complete(null));
+        } catch (Throwable e) {
+            log.warn("Failed to sync menu data", e);
+            awaitingSync.forEach(future -> future.completeExceptionally(e));
+        }
+        unsynced.clear();
+        awaitingSync.clear();
+    }
+
+    private static void force(Collection<File> files) throws IOException {
+        for (File file : files) {
+            if (!file.exists()) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Commits whatever is still pending, syncs it and stops the commit thread.
+     */
+    void close() throws InterruptedException {
+        executor.execute(() -> {
+            commit();
+            if (fsyncPolicy == StorageConfig.FsyncPolicy.INTERVAL) {
+                syncUnsynced();
+            }
+        });
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Menu data commit did not finish before shutdown");
+        }
+    }
+
+}
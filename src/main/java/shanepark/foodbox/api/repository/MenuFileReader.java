@@ -0,0 +1,54 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Streams a JSON menu array one {@link Menu} at a time, so only the menus a caller keeps stay on the heap
+ * no matter how large the file is.
+ */
+public class MenuFileReader {
+
+    private final ObjectMapper objectMapper;
+
+    public MenuFileReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Passes every menu whose date matches {@code filter} to {@code consumer}, in file order.
+     *
+     * @throws IOException if the file is not a JSON array of menu objects; the menus before the offending
+     *                     token have been passed on by then
+     */
+    public void read(File file, Predicate<LocalDate> filter, Consumer<Menu> consumer) throws IOException {
+        if (file.length() == 0) {
+            return;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Menu file must contain a JSON array: " + file);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                Menu menu = objectMapper.readValue(parser, Menu.class);
+                if (filter.test(menu.getDate())) {
+                    consumer.accept(menu);
+                }
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IOException("Unexpected " + token + " in menu file " + file + " at "
+                        + parser.currentLocation());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package shanepark.foodbox.api.repository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Watches the db directory and reports menu files that were created, changed or deleted by someone other than
+ * the repository, e.g. a hand edit or a sync from another box. Bursts of events are settled for {@link #SETTLE_MILLIS} and
+ * each file is reported once per burst.
+ */
+@Slf4j
+class MenuFileWatcher implements Closeable {
+
+    private static final long SETTLE_MILLIS = 200;
+
+    private final WatchService watchService;
+    private final Path dir;
+    private final Predicate<File> filter;
+    private final Consumer<File> onChange;
+    private final Thread thread;
+
+    MenuFileWatcher(File dir, Predicate<File> filter, Consumer<File> onChange) throws IOException {
+        this.dir = dir.toPath();
+        this.filter = filter;
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = Thread.ofPlatform().name("menu-watch").daemon(true).unstarted(this::run);
+    }
+
+    void start() {
+        thread.start();
+        log.info("Watching {} for menu file changes", dir);
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Set<File> changed = new LinkedHashSet<>();
+                collect(watchService.take(), changed);
+                Thread.sleep(SETTLE_MILLIS);
+                WatchKey more;
+                while ((more = watchService.poll()) != null) {
+                    collect(more, changed);
+                }
+                for (File file : changed) {
+                    try {
+                        onChange.accept(file);
+                    } catch (RuntimeException e) {
+                        log.warn("Failed to reload menu file {}", file.getName(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void collect(WatchKey key, Set<File> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path) {
+                File file = dir.resolve(path).toFile();
+                if (filter.test(file)) {
+                    changed.add(file);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+
+}
@@ -0,0 +1,135 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of changed menus. Each record is a single line: the CRC32 of the payload as 8 hex digits,
+ * a space, and the menu as compact JSON. A record whose checksum does not match (e.g. a write torn by a crash)
+ * ends the replay, and everything from that record on is cut off.
+ */
+@Slf4j
+class MenuJournal {
+
+    private static final int CHECKSUM_LENGTH = 8;
+
+    private final File journalFile;
+    private final ObjectMapper objectMapper;
+
+    MenuJournal(File journalFile, ObjectMapper objectMapper) {
+        this.journalFile = journalFile;
+        this.objectMapper = objectMapper;
+    }
+
+    void append(List<Menu> menus) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (Menu menu : menus) {
+            String json = objectMapper.writeValueAsString(menu);
+            sb.append(String.format("%08x", checksum(json.getBytes(StandardCharsets.UTF_8))))
+                    .append(' ')
+                    .append(json)
+                    .append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(journalFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Feeds every intact record to {@code consumer} in the order it was written.
+     *
+     * @return number of records replayed
+     */
+    int replay(Consumer<Menu> consumer) throws IOException {
+        if (!journalFile.exists()) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(journalFile.toPath());
+        int count = 0;
+        int offset = 0;
+        while (offset < bytes.length) {
+            int end = indexOf(bytes, (byte) '\n', offset);
+            Menu menu = end < 0 ? null : decode(bytes, offset, end);
+            if (menu == null) {
+                log.warn("Corrupted menu journal record at offset {}. Dropping {} trailing bytes", offset, bytes.length - offset);
+                truncate(offset);
+                break;
+            }
+            consumer.accept(menu);
+            count++;
+            offset = end + 1;
+        }
+        return count;
+    }
+
+    File file() {
+        return journalFile;
+    }
+
+    long size() {
+        return journalFile.length();
+    }
+
+    void clear() throws IOException {
+        truncate(0);
+    }
+
+    private Menu decode(byte[] bytes, int start, int end) {
+        int payloadStart = start + CHECKSUM_LENGTH + 1;
+        if (payloadStart > end || bytes[payloadStart - 1] != ' ') {
+            return null;
+        }
+        try {
+            long expected = Long.parseLong(new String(bytes, start, CHECKSUM_LENGTH, StandardCharsets.US_ASCII), 16);
+            CRC32 crc = new CRC32();
+            crc.update(bytes, payloadStart, end - payloadStart);
+            if (crc.getValue() != expected) {
+                return null;
+            }
+            return objectMapper.readValue(bytes, payloadStart, end - payloadStart, Menu.class);
+        } catch (NumberFormatException | IOException e) {
+            return null;
+        }
+    }
+
+    private void truncate(long size) throws IOException {
+        if (!journalFile.exists()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(journalFile.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    private static int indexOf(byte[] bytes, byte target, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -1,43 +1,159 @@
 package shanepark.foodbox.api.repository;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.stereotype.Repository;
+import shanepark.foodbox.api.config.StorageConfig;
 import shanepark.foodbox.api.domain.Menu;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
-@Repository
+/**
+ * JSON-file backed {@link MenuStore}: db.json (or monthly segments), optionally with an append-only journal,
+ * served from an in-memory snapshot.
+ */
 @Slf4j
-public class MenuRepository {
+public class MenuRepository implements MenuStore {
+    static final String SPLIT_SUFFIX = ".split";
+
     private final ObjectMapper objectMapper;
     private final File dbFile;
+    private final StorageConfig storageConfig;
+    private final MenuFileReader menuFileReader;
+    private final MenuJournal journal;
+    private final MenuSegments segments;
+    private final GroupCommitter committer;
+
+    /**
+     * Immutable view of every stored menu. Readers never lock and never touch the disk;
+     * {@link #saveAll(List)} builds a new index and swaps it in.
+     */
+    private volatile DenseMenuIndex snapshot = DenseMenuIndex.EMPTY;
+    private volatile long version;
+
+    /**
+     * What db.json (or the segments) held when this repository last loaded or wrote it, without the journal and
+     * the saves still waiting for a commit. External edits are diffed against this rather than the snapshot.
+     * Only touched from the commit thread after {@link #init()}.
+     */
+    private DenseMenuIndex disk = DenseMenuIndex.EMPTY;
+
+    /**
+     * Serializes snapshot swaps. A lock rather than {@code synchronized}, so a virtual thread waiting here
+     * does not pin its carrier.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Months changed since the last write of the db file(s). Only touched from the commit thread.
+     */
+    private final Set<YearMonth> pendingMonths = new TreeSet<>();
+
+    /**
+     * Fingerprints of the files this repository wrote last, so the watcher can tell them from outside edits.
+     */
+    private final Map<String, Long> ownWrites = new ConcurrentHashMap<>();
+    private MenuFileWatcher watcher;
 
-    @Autowired
-    public MenuRepository(@Qualifier("dbFile") File dbFile, ObjectMapper mapper) {
+    public MenuRepository(File dbFile, ObjectMapper mapper) {
+        this(dbFile, mapper, StorageConfig.defaults());
+    }
+
+    public MenuRepository(File dbFile, ObjectMapper mapper, StorageConfig storageConfig) {
         this.dbFile = dbFile;
         this.objectMapper = mapper;
+        this.storageConfig = storageConfig;
+        this.menuFileReader = new MenuFileReader(mapper);
+        this.journal = storageConfig.isJournalEnabled()
+                ? new MenuJournal(new File(dbFile.getAbsolutePath() + ".journal"), mapper)
+                : null;
+        this.segments = storageConfig.getLayout() == StorageConfig.Layout.MONTHLY
+                ? new MenuSegments(dbFile.getParentFile(), mapper)
+                : null;
+        this.committer = new GroupCommitter(this::commit, storageConfig.getCommitWindow(),
+                storageConfig.getFsyncPolicy(), storageConfig.getFsyncInterval());
     }
 
     @PostConstruct
-    public Map<LocalDate, Menu> loadFromFile() {
-        Map<LocalDate, Menu> menuMap = new HashMap<>();
-        if (dbFile.length() == 0) {
-            return menuMap;
+    public void init() {
+        NavigableMap<LocalDate, Menu> menuMap = segments != null ? loadFromSegments() : loadFromFile();
+        disk = DenseMenuIndex.of(menuMap.values());
+        int replayed = replayJournal(menuMap);
+        snapshot = replayed == 0 ? disk : DenseMenuIndex.of(menuMap.values());
+        log.info("Loaded {} menus from {} ({} journal records replayed)", snapshot.size(), dbFile.getName(), replayed);
+        if (storageConfig.isWatchEnabled()) {
+            startWatcher();
         }
+    }
+
+    private void startWatcher() {
         try {
-            List<Menu> loaded = objectMapper.readValue(dbFile, new TypeReference<>() {
-            });
-            for (Menu menu : loaded) {
-                menuMap.put(menu.getDate(), menu);
+            watcher = new MenuFileWatcher(dbFile.getParentFile(), this::isMenuFile, this::reload);
+            watcher.start();
+        } catch (IOException e) {
+            log.warn("Failed to watch menu data directory. Hot reload is disabled", e);
+        }
+    }
+
+    private boolean isMenuFile(File file) {
+        if (segments != null) {
+            return MenuSegments.monthOf(file).isPresent();
+        }
+        return file.getName().equals(dbFile.getName());
+    }
+
+    /**
+     * Splits a db.json left from the single-file layout into segments first. It is then renamed to
+     * {@code db.json.split}, so months that retention removes later are not split out of it again.
+     */
+    private NavigableMap<LocalDate, Menu> loadFromSegments() {
+        try {
+            if (segments.isEmpty() && dbFile.length() > 0) {
+                NavigableMap<LocalDate, Menu> menuMap = loadFromFile();
+                for (YearMonth month : monthsOf(menuMap.values())) {
+                    segments.write(month, List.copyOf(menuMap.subMap(month.atDay(1), true, month.atEndOfMonth(), true).values()));
+                }
+                File split = new File(dbFile.getAbsolutePath() + SPLIT_SUFFIX);
+                Files.move(dbFile.toPath(), split.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                log.info("Split {} menus from {} into monthly segments, kept the original as {}",
+                        menuMap.size(), dbFile.getName(), split.getName());
+            }
+            segments.applyRetention(YearMonth.now(), storageConfig.getRetentionMonths(), storageConfig.getRetentionAction());
+            return segments.loadAll();
+        } catch (IOException e) {
+            log.error("Failed to load menu segments", e);
+            System.exit(1);
+            return new TreeMap<>();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                log.warn("Failed to stop menu file watcher", e);
             }
+        }
+        committer.close();
+    }
+
+    public NavigableMap<LocalDate, Menu> loadFromFile() {
+        NavigableMap<LocalDate, Menu> menuMap = new TreeMap<>();
+        try {
+            menuFileReader.read(dbFile, date -> true, menu -> menuMap.put(menu.getDate(), menu));
         } catch (IOException e) {
             log.error("Failed to create menu data file", e);
             System.exit(1);
@@ -45,37 +161,253 @@ public class MenuRepository {
         return menuMap;
     }
 
-    public void flush(Map<LocalDate, Menu> menuMap) {
+    private int replayJournal(NavigableMap<LocalDate, Menu> menuMap) {
+        if (journal == null) {
+            return 0;
+        }
+        try {
+            return journal.replay(menu -> {
+                menuMap.put(menu.getDate(), menu);
+                pendingMonths.add(YearMonth.from(menu.getDate()));
+            });
+        } catch (IOException e) {
+            log.error("Failed to replay menu journal", e);
+            System.exit(1);
+            return 0;
+        }
+    }
+
+    /**
+     * Persists one group-committed batch: appended to the journal, or written into the current snapshot files.
+     * Always runs on the commit thread.
+     */
+    private Collection<File> commit(List<Menu> batch) throws IOException {
+        pendingMonths.addAll(monthsOf(batch));
+        if (journal == null) {
+            return writeSnapshot(snapshot);
+        }
+        // journal what the snapshot holds now, so a reload applied since the save is not overridden on replay
+        DenseMenuIndex current = snapshot;
+        List<Menu> latest = batch.stream()
+                .map(Menu::getDate)
+                .distinct()
+                .map(current::get)
+                .filter(Objects::nonNull)
+                .toList();
+        journal.append(latest);
+        List<File> written = new ArrayList<>(List.of(journal.file()));
+        if (journal.size() > storageConfig.getJournalCompactBytes()) {
+            written.addAll(compact());
+        }
+        return written;
+    }
+
+    /**
+     * Writes db.json, or with the monthly layout only the segments of {@link #pendingMonths}.
+     *
+     * @return the files written
+     */
+    private Collection<File> writeSnapshot(DenseMenuIndex index) throws IOException {
+        List<File> written = new ArrayList<>();
+        if (segments != null) {
+            for (YearMonth month : pendingMonths) {
+                List<Menu> menus = index.range(month.atDay(1), month.atEndOfMonth());
+                segments.write(month, menus);
+                File segment = segments.segmentFile(month);
+                rememberOwnWrite(segment);
+                written.add(segment);
+                List<LocalDate> dropped = disk.range(month.atDay(1), month.atEndOfMonth()).stream()
+                        .map(Menu::getDate)
+                        .filter(date -> index.get(date) == null)
+                        .toList();
+                disk = disk.with(menus, dropped);
+            }
+            pendingMonths.clear();
+            applyRetention();
+            return written;
+        }
         File tempFile = new File(dbFile.getAbsolutePath() + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile, index.ascending());
+        if (!tempFile.renameTo(dbFile)) {
+            throw new IOException("Failed to rename temp file to db file");
+        }
+        rememberOwnWrite(dbFile);
+        disk = index;
+        pendingMonths.clear();
+        written.add(dbFile);
+        return written;
+    }
+
+    /**
+     * Applies the retention policy to the segments and drops the months it removed from the snapshot too, so a
+     * long-running instance serves what a restart would load. Runs on the commit thread after segments are
+     * written.
+     */
+    private void applyRetention() throws IOException {
+        List<YearMonth> removed = segments.applyRetention(YearMonth.now(), storageConfig.getRetentionMonths(),
+                storageConfig.getRetentionAction());
+        if (removed.isEmpty()) {
+            return;
+        }
+        List<LocalDate> onDisk = new ArrayList<>();
+        for (YearMonth month : removed) {
+            disk.range(month.atDay(1), month.atEndOfMonth()).forEach(menu -> onDisk.add(menu.getDate()));
+        }
+        disk = disk.with(List.of(), onDisk);
+        writeLock.lock();
         try {
-            List<Menu> saveTarget = menuMap.values()
-                    .stream()
-                    .sorted()
-                    .toList();
-            objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile, saveTarget);
-            if (!tempFile.renameTo(dbFile)) {
-                throw new IOException("Failed to rename temp file to db file");
+            List<LocalDate> dates = new ArrayList<>();
+            for (YearMonth month : removed) {
+                snapshot.range(month.atDay(1), month.atEndOfMonth()).forEach(menu -> dates.add(menu.getDate()));
             }
-        } catch (IOException e) {
-            log.warn("Failed to save menu data", e);
+            if (!dates.isEmpty()) {
+                snapshot = snapshot.with(List.of(), dates);
+                version++;
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
+    private void rememberOwnWrite(File file) {
+        ownWrites.put(file.getName(), fingerprint(file));
+    }
+
+    private static long fingerprint(File file) {
+        return file.lastModified() * 31 + file.length();
+    }
+
+    /**
+     * Re-reads a db file that changed on disk and applies only the dates that differ from what this repository
+     * last wrote there, so saves still in the journal or the commit window are kept. A deleted file counts as
+     * an empty one: its dates (for a segment, its month) are dropped. Runs on the commit thread,
+     * between commits; with a journal the edit is compacted right away, so older journal records cannot
+     * override it or bring back removed dates on the next startup. Readers keep getting the previous snapshot
+     * until the new one is swapped in.
+     */
+    void reload(File file) {
+        committer.execute(() -> {
+            Long own = ownWrites.get(file.getName());
+            boolean deleted = !file.exists();
+            if (!deleted && own != null && own == fingerprint(file)) {
+                return List.of();
+            }
+            if (segments != null) {
+                YearMonth month = MenuSegments.monthOf(file).orElseThrow();
+                NavigableMap<LocalDate, Menu> fresh = deleted ? new TreeMap<>() : segments.load(file);
+                return applyReload(file, fresh, month.atDay(1), month.atEndOfMonth());
+            }
+            NavigableMap<LocalDate, Menu> fresh = new TreeMap<>();
+            if (!deleted) {
+                menuFileReader.read(file, date -> true, menu -> fresh.put(menu.getDate(), menu));
+            }
+            return applyReload(file, fresh, LocalDate.MIN, LocalDate.MAX);
+        }).join();
+    }
+
+    private Collection<File> applyReload(File file, NavigableMap<LocalDate, Menu> fresh, LocalDate from, LocalDate to)
+            throws IOException {
+        List<Menu> changed = fresh.values().stream()
+                .filter(menu -> !menu.equals(disk.get(menu.getDate())))
+                .toList();
+        List<LocalDate> removed = disk.range(from, to).stream()
+                .map(Menu::getDate)
+                .filter(date -> !fresh.containsKey(date))
+                .toList();
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return List.of();
+        }
+        disk = disk.with(changed, removed);
+        writeLock.lock();
+        try {
+            snapshot = snapshot.with(changed, removed);
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Reloaded {}: {} menus changed, {} removed", file.getName(), changed.size(), removed.size());
+        if (journal == null || journal.size() == 0) {
+            return List.of();
+        }
+        return compact();
+    }
+
+    private static Set<YearMonth> monthsOf(Collection<Menu> menus) {
+        return menus.stream()
+                .map(menu -> YearMonth.from(menu.getDate()))
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    @Override
     public Optional<Menu> findByDate(LocalDate date) {
-        return Optional.ofNullable(loadFromFile().get(date));
+        return Optional.ofNullable(snapshot.get(date));
+    }
+
+    @Override
+    public List<Menu> findByDates(Collection<LocalDate> dates) {
+        DenseMenuIndex index = snapshot;
+        return dates.stream()
+                .distinct()
+                .sorted()
+                .map(index::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<Menu> findRange(LocalDate from, LocalDate to) {
+        return snapshot.range(from, to);
+    }
+
+    @Override
+    public List<Menu> findRangeDescending(LocalDate from, LocalDate to, int limit) {
+        return snapshot.rangeDescending(from, to, limit);
     }
 
+    @Override
     public List<Menu> findAll() {
-        return loadFromFile().values().stream()
-                .sorted(Comparator.comparingLong(m -> m.getDate().toEpochDay()))
-                .toList().reversed();
+        return snapshot.descending();
+    }
+
+    @Override
+    public long version() {
+        return version;
     }
 
-    public void saveAll(List<Menu> menus) {
-        Map<LocalDate, Menu> menuMap = loadFromFile();
-        for (Menu menu : menus) {
-            menuMap.put(menu.getDate(), menu);
+    /**
+     * Swaps the changed menus into the snapshot right away and leaves the disk write to the group committer.
+     *
+     * @return completes once the change is durable according to the configured fsync policy
+     */
+    @Override
+    public CompletableFuture<Void> saveAll(List<Menu> menus) {
+        Map<LocalDate, Menu> latest = new LinkedHashMap<>();
+        menus.forEach(menu -> latest.put(menu.getDate(), menu));
+        writeLock.lock();
+        try {
+            List<Menu> changed = latest.values().stream()
+                    .filter(menu -> !menu.equals(snapshot.get(menu.getDate())))
+                    .toList();
+            if (changed.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            snapshot = snapshot.with(changed, List.of());
+            version++;
+            return committer.submit(changed);
+        } finally {
+            writeLock.unlock();
         }
-        flush(menuMap);
+    }
+
+    /**
+     * Folds the journal into db.json (or the touched segments). Runs on the commit thread, so every appended
+     * record is already part of the current snapshot; a crash between the two steps only leaves records that
+     * replay idempotently.
+     */
+    private Collection<File> compact() throws IOException {
+        log.info("Compacting menu journal ({} bytes)", journal.size());
+        Collection<File> written = writeSnapshot(snapshot);
+        journal.clear();
+        return written;
     }
 }
@@ -0,0 +1,137 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import shanepark.foodbox.api.config.StorageConfig;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One JSON file per month ({@code db-2025-08.json}) in the db directory, mirroring the month pages the crawler reads.
+ */
+@Slf4j
+class MenuSegments {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("db-(\\d{4}-\\d{2})\\.json");
+    private static final String ARCHIVE_DIR = "archive";
+
+    private final File dir;
+    private final ObjectMapper objectMapper;
+    private final MenuFileReader menuFileReader;
+
+    MenuSegments(File dir, ObjectMapper objectMapper) {
+        this.dir = dir;
+        this.objectMapper = objectMapper;
+        this.menuFileReader = new MenuFileReader(objectMapper);
+    }
+
+    static Optional<YearMonth> monthOf(File file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(matcher.group(1)));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    File segmentFile(YearMonth month) {
+        return new File(dir, "db-" + month + ".json");
+    }
+
+    boolean isEmpty() {
+        return list().isEmpty();
+    }
+
+    NavigableMap<YearMonth, File> list() {
+        NavigableMap<YearMonth, File> segments = new TreeMap<>();
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return segments;
+        }
+        for (File file : files) {
+            monthOf(file).ifPresent(month -> segments.put(month, file));
+        }
+        return segments;
+    }
+
+    /**
+     * Reads every segment in parallel on the common fork-join pool and merges the results.
+     */
+    NavigableMap<LocalDate, Menu> loadAll() throws IOException {
+        try {
+            List<NavigableMap<LocalDate, Menu>> loaded = list().values()
+                    .parallelStream()
+                    .map(this::load)
+                    .toList();
+            NavigableMap<LocalDate, Menu> menuMap = new TreeMap<>();
+            loaded.forEach(menuMap::putAll);
+            return menuMap;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    NavigableMap<LocalDate, Menu> load(File segment) {
+        NavigableMap<LocalDate, Menu> menuMap = new TreeMap<>();
+        try {
+            menuFileReader.read(segment, date -> true, menu -> menuMap.put(menu.getDate(), menu));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read menu segment " + segment.getName(), e);
+        }
+        return menuMap;
+    }
+
+    /**
+     * Rewrites the segment of {@code month} with {@code menus}, which must all be dated within that month.
+     */
+    void write(YearMonth month, List<Menu> menus) throws IOException {
+        File segment = segmentFile(month);
+        File tempFile = new File(segment.getAbsolutePath() + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(tempFile, menus);
+        Files.move(tempFile.toPath(), segment.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Archives or deletes every segment older than {@code keepMonths} months before {@code current}.
+     *
+     * @return the months whose segment was archived or deleted
+     */
+    List<YearMonth> applyRetention(YearMonth current, int keepMonths, StorageConfig.RetentionAction action) throws IOException {
+        List<YearMonth> removed = new ArrayList<>();
+        if (keepMonths <= 0) {
+            return removed;
+        }
+        YearMonth cutoff = current.minusMonths(keepMonths - 1);
+        for (Map.Entry<YearMonth, File> entry : list().headMap(cutoff, false).entrySet()) {
+            File segment = entry.getValue();
+            removed.add(entry.getKey());
+            if (action == StorageConfig.RetentionAction.DROP) {
+                Files.delete(segment.toPath());
+                log.info("Dropped menu segment {}", segment.getName());
+                continue;
+            }
+            File archiveDir = new File(dir, ARCHIVE_DIR);
+            if (!archiveDir.exists() && !archiveDir.mkdirs()) {
+                throw new IOException("Failed to create archive directory " + archiveDir);
+            }
+            Files.move(segment.toPath(), new File(archiveDir, segment.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            log.info("Archived menu segment {}", segment.getName());
+        }
+        return removed;
+    }
+
+}
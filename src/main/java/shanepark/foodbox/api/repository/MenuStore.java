@@ -0,0 +1,49 @@
+package shanepark.foodbox.api.repository;
+
+import shanepark.foodbox.api.domain.Menu;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface MenuStore {
+
+    Optional<Menu> findByDate(LocalDate date);
+
+    /**
+     * Looks up several dates in one go: one call, and for the SQL backend one query.
+     *
+     * @return the menus found, oldest first; dates without a menu are left out
+     */
+    List<Menu> findByDates(Collection<LocalDate> dates);
+
+    /**
+     * @return menus dated within [from, to], oldest first
+     */
+    List<Menu> findRange(LocalDate from, LocalDate to);
+
+    /**
+     * Scans [from, to] from the newest date backwards and stops after {@code limit} menus.
+     *
+     * @return at most {@code limit} menus dated within [from, to], newest first
+     */
+    List<Menu> findRangeDescending(LocalDate from, LocalDate to, int limit);
+
+    /**
+     * @return every stored menu, newest first
+     */
+    List<Menu> findAll();
+
+    /**
+     * @return completes once the saved menus are durable; reads see them as soon as this method returns
+     */
+    CompletableFuture<Void> saveAll(List<Menu> menus);
+
+    /**
+     * @return a counter that moves whenever the stored menus change, so callers can cache what they derive from them
+     */
+    long version();
+
+}
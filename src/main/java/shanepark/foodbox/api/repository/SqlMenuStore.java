@@ -0,0 +1,229 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.jdbcx.JdbcConnectionPool;
+import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.api.exception.MenuStoreException;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MenuStore} on an embedded H2 file database next to db.json. Dates are the primary key, so point lookups
+ * and range scans go through the index and saves are batched upserts of the given rows only.
+ */
+@Slf4j
+public class SqlMenuStore implements MenuStore {
+
+    private static final TypeReference<List<String>> ITEMS_TYPE = new TypeReference<>() {
+    };
+
+    private record Row(String items, boolean valid) {
+    }
+
+    private final File dbFile;
+    private final ObjectMapper objectMapper;
+    private final JdbcConnectionPool pool;
+    private final AtomicLong version = new AtomicLong();
+
+    public SqlMenuStore(File dbFile, ObjectMapper mapper) {
+        this.dbFile = dbFile;
+        this.objectMapper = mapper;
+        String path = new File(dbFile.getParentFile(), "menu").getAbsolutePath();
+        this.pool = JdbcConnectionPool.create("jdbc:h2:file:" + path, "sa", "");
+    }
+
+    /**
+     * Creates the schema and imports db.json when the table is still empty.
+     */
+    @PostConstruct
+    public void init() {
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE IF NOT EXISTS menu (
+                        menu_date DATE PRIMARY KEY,
+                        items VARCHAR(4000) NOT NULL,
+                        is_valid BOOLEAN
+                    )""");
+            // databases created before the flag was stored; their rows read it as null and recompute it
+            statement.execute("ALTER TABLE menu ADD COLUMN IF NOT EXISTS is_valid BOOLEAN");
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM menu")) {
+                rs.next();
+                if (rs.getLong(1) == 0) {
+                    importFromFile();
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Failed to initialize menu database", e);
+            System.exit(1);
+        }
+    }
+
+    private void importFromFile() {
+        List<Menu> menus = new ArrayList<>();
+        try {
+            new MenuFileReader(objectMapper).read(dbFile, date -> true, menus::add);
+        } catch (IOException e) {
+            log.error("Failed to import {} into menu database", dbFile.getName(), e);
+            System.exit(1);
+        }
+        if (!menus.isEmpty()) {
+            saveAll(menus);
+            log.info("Imported {} menus from {} into menu database", menus.size(), dbFile.getName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.dispose();
+    }
+
+    @Override
+    public Optional<Menu> findByDate(LocalDate date) {
+        List<Menu> menus = query("SELECT menu_date, items, is_valid FROM menu WHERE menu_date = ?", date);
+        return menus.stream().findFirst();
+    }
+
+    @Override
+    public List<Menu> findByDates(Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return List.of();
+        }
+        Object[] params = dates.stream().distinct().toArray();
+        String placeholders = String.join(", ", Collections.nCopies(params.length, "?"));
+        return query("SELECT menu_date, items, is_valid FROM menu WHERE menu_date IN (" + placeholders + ") ORDER BY menu_date", params);
+    }
+
+    @Override
+    public List<Menu> findRange(LocalDate from, LocalDate to) {
+        return query("SELECT menu_date, items, is_valid FROM menu WHERE menu_date BETWEEN ? AND ? ORDER BY menu_date", from, to);
+    }
+
+    @Override
+    public List<Menu> findRangeDescending(LocalDate from, LocalDate to, int limit) {
+        return query("SELECT menu_date, items, is_valid FROM menu WHERE menu_date BETWEEN ? AND ? ORDER BY menu_date DESC LIMIT ?",
+                from, to, limit);
+    }
+
+    @Override
+    public List<Menu> findAll() {
+        return query("SELECT menu_date, items, is_valid FROM menu ORDER BY menu_date DESC");
+    }
+
+    /**
+     * Upserts the menus that differ from the stored rows. Menus that are already stored as they are leave the
+     * table and {@link #version()} untouched.
+     */
+    @Override
+    public CompletableFuture<Void> saveAll(List<Menu> menus) {
+        if (menus.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                Map<LocalDate, Row> changed = changedRows(connection, menus);
+                if (changed.isEmpty()) {
+                    connection.commit();
+                    return CompletableFuture.completedFuture(null);
+                }
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "MERGE INTO menu (menu_date, items, is_valid) KEY (menu_date) VALUES (?, ?, ?)")) {
+                    for (Map.Entry<LocalDate, Row> row : changed.entrySet()) {
+                        statement.setObject(1, row.getKey());
+                        statement.setString(2, row.getValue().items());
+                        statement.setBoolean(3, row.getValue().valid());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+                connection.commit();
+                version.incrementAndGet();
+                return CompletableFuture.completedFuture(null);
+            } catch (SQLException | JsonProcessingException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException | JsonProcessingException e) {
+            log.warn("Failed to save menu data", e);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * @return the rows of the menus whose row is missing or holds other items or validity, keyed by date; later
+     * menus of the same date win
+     */
+    private Map<LocalDate, Row> changedRows(Connection connection, List<Menu> menus)
+            throws SQLException, JsonProcessingException {
+        Map<LocalDate, Row> rows = new LinkedHashMap<>();
+        for (Menu menu : menus) {
+            rows.put(menu.getDate(), new Row(objectMapper.writeValueAsString(menu.getMenus()), menu.isValid()));
+        }
+        String placeholders = String.join(", ", Collections.nCopies(rows.size(), "?"));
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT menu_date, items, is_valid FROM menu WHERE menu_date IN (" + placeholders + ")")) {
+            int i = 1;
+            for (LocalDate date : rows.keySet()) {
+                statement.setObject(i++, date);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate date = rs.getObject(1, LocalDate.class);
+                    Boolean valid = rs.getObject(3, Boolean.class);
+                    if (valid != null) {
+                        rows.remove(date, new Row(rs.getString(2), valid));
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    private List<Menu> query(String sql, Object... params) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            List<Menu> menus = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate date = rs.getObject(1, LocalDate.class);
+                    List<String> items = objectMapper.readValue(rs.getString(2), ITEMS_TYPE);
+                    Boolean valid = rs.getObject(3, Boolean.class);
+                    menus.add(valid != null || items == null
+                            ? new Menu(date, items, Boolean.TRUE.equals(valid))
+                            : new Menu(date, items));
+                }
+            }
+            return menus;
+        } catch (SQLException | JsonProcessingException e) {
+            throw new MenuStoreException(e);
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.MenuLookup;
+import shanepark.foodbox.api.domain.MenuPage;
+import shanepark.foodbox.api.domain.MenuResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes {@link ApiResponse}s carrying menus as JSON straight to a stream, byte for byte what the application
+ * {@link ObjectMapper} writes. Field names, statuses and dates go out as pre-encoded UTF-8, and no serializer
+ * is looked up for {@code ApiResponse.data}, which Jackson would resolve from its runtime type on every write.
+ * Errors and any other data fall back to the ObjectMapper.
+ */
+@Component
+public class ApiResponseJsonWriter {
+
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString ERROR = new SerializedString("error");
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString DATE = new SerializedString("date");
+    private static final SerializedString MENUS = new SerializedString("menus");
+    private static final SerializedString IS_VALID = new SerializedString("isValid");
+    private static final SerializedString CRAWLED_AT = new SerializedString("crawledAt");
+    private static final SerializedString STALE = new SerializedString("stale");
+    private static final SerializedString NEXT_CURSOR = new SerializedString("nextCursor");
+    private static final SerializedString MENU = new SerializedString("menu");
+    private static final int MAX_CACHED_DATES = 4096;
+    private static final Map<MenuLookup.Status, SerializedString> LOOKUP_STATUSES = new EnumMap<>(MenuLookup.Status.class);
+
+    static {
+        for (MenuLookup.Status status : MenuLookup.Status.values()) {
+            LOOKUP_STATUSES.put(status, new SerializedString(status.name()));
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, SerializedString> dates = new ConcurrentHashMap<>();
+
+    /**
+     * Every menu of a response shares one crawl time, and it only moves with the next crawl.
+     */
+    private volatile EncodedInstant lastInstant = new EncodedInstant(Instant.EPOCH, new SerializedString(Instant.EPOCH.toString()));
+
+    private record EncodedInstant(Instant instant, SerializedString encoded) {
+    }
+
+    public ApiResponseJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Leaves {@code out} open.
+     */
+    public void write(ApiResponse response, OutputStream out) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writeResponse(response, gen);
+        }
+    }
+
+    public byte[] writeAsBytes(ApiResponse response) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        try {
+            write(response, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeResponse(ApiResponse response, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(STATUS);
+        gen.writeNumber(response.status());
+        gen.writeFieldName(ERROR);
+        if (response.error() == null) {
+            gen.writeNull();
+        } else {
+            objectMapper.writeValue(gen, response.error());
+        }
+        gen.writeFieldName(DATA);
+        writeData(response.data(), gen);
+        gen.writeEndObject();
+    }
+
+    private void writeData(Object data, JsonGenerator gen) throws IOException {
+        if (data == null) {
+            gen.writeNull();
+        } else if (data instanceof MenuResponse menu) {
+            writeMenu(menu, gen);
+        } else if (data instanceof MenuPage page) {
+            gen.writeStartObject();
+            gen.writeFieldName(MENUS);
+            writeList(page.menus(), gen);
+            gen.writeFieldName(NEXT_CURSOR);
+            gen.writeString(page.nextCursor());
+            gen.writeEndObject();
+        } else if (data instanceof List<?> list) {
+            writeList(list, gen);
+        } else {
+            objectMapper.writeValue(gen, data);
+        }
+    }
+
+    private void writeList(List<?> list, JsonGenerator gen) throws IOException {
+        if (list == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray();
+        for (Object element : list) {
+            if (element instanceof MenuResponse menu) {
+                writeMenu(menu, gen);
+            } else if (element instanceof MenuLookup lookup) {
+                writeLookup(lookup, gen);
+            } else {
+                objectMapper.writeValue(gen, element);
+            }
+        }
+        gen.writeEndArray();
+    }
+
+    private void writeMenu(MenuResponse menu, JsonGenerator gen) throws IOException {
+        if (menu == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(DATE);
+        writeDate(menu.date(), gen);
+        gen.writeFieldName(MENUS);
+        if (menu.menus() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray();
+            for (String item : menu.menus()) {
+                gen.writeString(item);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeFieldName(IS_VALID);
+        gen.writeBoolean(menu.isValid());
+        gen.writeFieldName(CRAWLED_AT);
+        writeInstant(menu.crawledAt(), gen);
+        gen.writeFieldName(STALE);
+        gen.writeBoolean(menu.stale());
+        gen.writeEndObject();
+    }
+
+    private void writeLookup(MenuLookup lookup, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(DATE);
+        writeDate(lookup.date(), gen);
+        gen.writeFieldName(STATUS);
+        if (lookup.status() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(LOOKUP_STATUSES.get(lookup.status()));
+        }
+        gen.writeFieldName(MENU);
+        writeMenu(lookup.menu(), gen);
+        gen.writeEndObject();
+    }
+
+    private void writeDate(String date, JsonGenerator gen) throws IOException {
+        if (date == null) {
+            gen.writeNull();
+            return;
+        }
+        SerializedString encoded = dates.get(date);
+        if (encoded == null) {
+            if (dates.size() >= MAX_CACHED_DATES) {
+                dates.clear();
+            }
+            encoded = new SerializedString(date);
+            dates.put(date, encoded);
+        }
+        gen.writeString(encoded);
+    }
+
+    private void writeInstant(Instant instant, JsonGenerator gen) throws IOException {
+        if (instant == null) {
+            gen.writeNull();
+            return;
+        }
+        EncodedInstant last = lastInstant;
+        if (!last.instant().equals(instant)) {
+            last = new EncodedInstant(instant, new SerializedString(instant.toString()));
+            lastInstant = last;
+        }
+        gen.writeString(last.encoded());
+    }
+
+}
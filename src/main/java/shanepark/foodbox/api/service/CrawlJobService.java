@@ -0,0 +1,299 @@
+package shanepark.foodbox.api.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.CrawlJob;
+import shanepark.foodbox.api.exception.CrawlJobNotFoundException;
+import shanepark.foodbox.crawl.CrawlListener;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs crawls requested over HTTP in the background. A submission while a job is queued or running gets that
+ * job back instead of a new one. The most recent jobs are kept for polling, and each job's state changes are
+ * pushed to its server-sent event subscribers. Every subscriber has its own queue of events, drained on the
+ * executor, so neither the crawl nor other subscribers wait on a slow connection.
+ */
+@Service
+@Slf4j
+public class CrawlJobService {
+
+    static final int MAX_KEPT_JOBS = 20;
+    static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofMinutes(5);
+
+    private final MenuService menuService;
+    private final Clock clock;
+    private final Executor executor;
+
+    /**
+     * Guards the fields below. Events are queued while holding it, so each subscriber gets a job's states in
+     * order, but never sent.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, CrawlJob> jobs = new LinkedHashMap<>();
+    private final Map<String, Map<SseEmitter, Subscriber>> subscribers = new HashMap<>();
+    private String activeJobId;
+
+    @Autowired
+    public CrawlJobService(MenuService menuService, Clock clock) {
+        this(menuService, clock, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    CrawlJobService(MenuService menuService, Clock clock, Executor executor) {
+        this.menuService = menuService;
+        this.clock = clock;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the new job, or the one still queued or running
+     */
+    public CrawlJob submit() {
+        CrawlJob job;
+        lock.lock();
+        try {
+            if (activeJobId != null) {
+                log.info("Crawl job {} is still running", activeJobId);
+                return jobs.get(activeJobId);
+            }
+            job = CrawlJob.queued(UUID.randomUUID().toString(), clock.instant());
+            jobs.put(job.id(), job);
+            activeJobId = job.id();
+            evictFinished();
+        } finally {
+            lock.unlock();
+        }
+        executor.execute(() -> run(job.id()));
+        return job;
+    }
+
+    public CrawlJob find(String id) {
+        lock.lock();
+        try {
+            CrawlJob job = jobs.get(id);
+            if (job == null) {
+                throw new CrawlJobNotFoundException(id);
+            }
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the job's current state as a {@code job} event, then one event per change until it is done.
+     */
+    public SseEmitter subscribe(String id) {
+        SseEmitter emitter = new SseEmitter(SUBSCRIPTION_TIMEOUT.toMillis());
+        emitter.onCompletion(() -> unsubscribe(id, emitter));
+        emitter.onTimeout(() -> unsubscribe(id, emitter));
+        emitter.onError(e -> unsubscribe(id, emitter));
+        Subscriber subscriber = new Subscriber(emitter);
+        lock.lock();
+        try {
+            CrawlJob job = find(id);
+            if (!job.status().isDone()) {
+                subscribers.computeIfAbsent(id, key -> new LinkedHashMap<>()).put(emitter, subscriber);
+            }
+            subscriber.enqueue(job);
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    /**
+     * Stops taking jobs and gives the running one and the queued events a moment to finish.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Crawl jobs did not finish before shutdown");
+                executorService.shutdownNow();
+            }
+        }
+    }
+
+    private void run(String id) {
+        JobListener listener = new JobListener(id);
+        update(id, job -> job.withStatus(CrawlJob.Status.RUNNING).withStartedAt(clock.instant()));
+        try {
+            // a job reports success only once the changed menus are durable
+            menuService.crawl(listener).join();
+            CrawlJob.Status status = listener.skipped ? CrawlJob.Status.SKIPPED
+                    : listener.unchanged ? CrawlJob.Status.UNCHANGED
+                    : CrawlJob.Status.SUCCEEDED;
+            update(id, job -> job.withStatus(status).withFinishedAt(clock.instant()));
+        } catch (Throwable e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Crawl job {} failed", id, cause);
+            update(id, job -> job.withStatus(CrawlJob.Status.FAILED)
+                    .withError(cause.getMessage())
+                    .withFinishedAt(clock.instant()));
+        }
+    }
+
+    private void update(String id, UnaryOperator<CrawlJob> change) {
+        lock.lock();
+        try {
+            CrawlJob job = jobs.computeIfPresent(id, (key, current) -> change.apply(current));
+            if (job == null) {
+                return;
+            }
+            boolean done = job.status().isDone();
+            if (done && id.equals(activeJobId)) {
+                activeJobId = null;
+            }
+            Map<SseEmitter, Subscriber> listening = done ? subscribers.remove(id) : subscribers.get(id);
+            if (listening != null) {
+                listening.values().forEach(subscriber -> subscriber.enqueue(job));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void unsubscribe(String id, SseEmitter emitter) {
+        lock.lock();
+        try {
+            Map<SseEmitter, Subscriber> listening = subscribers.get(id);
+            if (listening != null && listening.remove(emitter) != null && listening.isEmpty()) {
+                subscribers.remove(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the oldest finished jobs beyond {@link #MAX_KEPT_JOBS}. Called with the lock held.
+     */
+    private void evictFinished() {
+        Iterator<CrawlJob> iterator = jobs.values().iterator();
+        while (jobs.size() > MAX_KEPT_JOBS && iterator.hasNext()) {
+            CrawlJob job = iterator.next();
+            if (job.status().isDone()) {
+                iterator.remove();
+                subscribers.remove(job.id());
+            }
+        }
+    }
+
+    /**
+     * One subscriber's events not sent yet. At most one drain runs per subscriber, so they go out in order.
+     */
+    private class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ReentrantLock queueLock = new ReentrantLock();
+        private final Queue<CrawlJob> pending = new ArrayDeque<>();
+        private boolean draining;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(CrawlJob job) {
+            queueLock.lock();
+            try {
+                pending.add(job);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            } finally {
+                queueLock.unlock();
+            }
+            executor.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                CrawlJob job;
+                queueLock.lock();
+                try {
+                    job = pending.poll();
+                    if (job == null) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    queueLock.unlock();
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                            .name("job")
+                            .data(ApiResponse.success(job), MediaType.APPLICATION_JSON));
+                    if (job.status().isDone()) {
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    unsubscribe(job.id(), emitter);
+                }
+            }
+        }
+
+    }
+
+    private class JobListener implements CrawlListener {
+
+        private final String id;
+        private boolean skipped;
+        private boolean unchanged;
+
+        JobListener(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public void fetched(Duration took) {
+            update(id, job -> job.withFetchMillis(took.toMillis()));
+        }
+
+        @Override
+        public void parsed(Duration took, int menus) {
+            update(id, job -> job.withParseMillis(took.toMillis()).withCrawledMenus(menus));
+        }
+
+        @Override
+        public void unchanged() {
+            unchanged = true;
+        }
+
+        @Override
+        public void persisted(Duration took, int changed) {
+            update(id, job -> job.withPersistMillis(took.toMillis()).withChangedMenus(changed));
+        }
+
+        @Override
+        public void skipped(Instant lastCrawl) {
+            skipped = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * When the last successful crawl finished, kept in {@value #FILE_NAME} next to the db file so the freshness of
+ * the stored menus survives a restart.
+ */
+@Component
+@Slf4j
+class LastCrawlFile {
+
+    static final String FILE_NAME = "last-crawl.json";
+
+    private final File file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * What {@value #FILE_NAME} holds. The instant is an ISO-8601 string.
+     */
+    record LastCrawl(String crawledAt) {
+    }
+
+    LastCrawlFile(@Qualifier("dbFile") File dbFile, ObjectMapper objectMapper) {
+        this.file = new File(dbFile.getAbsoluteFile().getParentFile(), FILE_NAME);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return when the last successful crawl finished, or empty if none was recorded or the file is unreadable
+     */
+    Optional<Instant> read() {
+        if (!file.isFile() || file.length() == 0) {
+            return Optional.empty();
+        }
+        try {
+            LastCrawl lastCrawl = objectMapper.readValue(file, LastCrawl.class);
+            return Optional.ofNullable(lastCrawl.crawledAt()).map(Instant::parse);
+        } catch (IOException | DateTimeParseException e) {
+            log.warn("Ignoring unreadable last crawl file {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the file atomically, so a crash leaves either the old or the new time.
+     */
+    void write(Instant crawledAt) {
+        File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        try {
+            objectMapper.writeValue(tempFile, new LastCrawl(crawledAt.toString()));
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write last crawl file {}; freshness will not survive a restart", file, e);
+        }
+    }
+
+}
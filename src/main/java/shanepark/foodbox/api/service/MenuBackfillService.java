@@ -0,0 +1,283 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import shanepark.foodbox.api.domain.BackfillProgress;
+import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.api.exception.InvalidMenuQueryException;
+import shanepark.foodbox.api.exception.MonthUrlNotConfiguredException;
+import shanepark.foodbox.api.repository.MenuStore;
+import shanepark.foodbox.crawl.CrawlConfig;
+import shanepark.foodbox.crawl.MenuCrawler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fills the store with the menus of past months. The months of a range are crawled newest first, at most
+ * {@code crawl.parallelism} pages at a time on virtual threads, and each one is saved as soon as its page is in.
+ * Every saved month is checkpointed to {@value #CHECKPOINT_FILE} next to the db file, so a backfill cut short by
+ * failures or a restart carries on with the months still missing instead of starting over. A backfill left
+ * unfinished is resumed when the application starts.
+ */
+@Service
+@Slf4j
+public class MenuBackfillService {
+
+    static final String CHECKPOINT_FILE = "backfill.json";
+    static final int MAX_MONTHS = 120;
+
+    private final MenuCrawler menuCrawler;
+    private final CrawlConfig crawlConfig;
+    private final MenuStore menuStore;
+    private final ObjectMapper objectMapper;
+    private final File checkpointFile;
+    private final Executor executor;
+
+    /**
+     * Guards the fields below and the checkpoint file.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private YearMonth from;
+    private YearMonth to;
+    private final NavigableSet<YearMonth> done = new TreeSet<>(Comparator.reverseOrder());
+    private final NavigableSet<YearMonth> failed = new TreeSet<>(Comparator.reverseOrder());
+    private boolean running;
+
+    /**
+     * What {@value #CHECKPOINT_FILE} holds. Months are {@code yyyy-MM} strings.
+     */
+    record Checkpoint(String from, String to, List<String> done) {
+    }
+
+    @Autowired
+    public MenuBackfillService(MenuCrawler menuCrawler, CrawlConfig crawlConfig, MenuStore menuStore,
+                               ObjectMapper objectMapper, @Qualifier("dbFile") File dbFile) {
+        this(menuCrawler, crawlConfig, menuStore, objectMapper,
+                new File(dbFile.getAbsoluteFile().getParentFile(), CHECKPOINT_FILE),
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    MenuBackfillService(MenuCrawler menuCrawler, CrawlConfig crawlConfig, MenuStore menuStore,
+                        ObjectMapper objectMapper, File checkpointFile, Executor executor) {
+        this.menuCrawler = menuCrawler;
+        this.crawlConfig = crawlConfig;
+        this.menuStore = menuStore;
+        this.objectMapper = objectMapper;
+        this.checkpointFile = checkpointFile;
+        this.executor = executor;
+        readCheckpoint();
+    }
+
+    /**
+     * Starts backfilling the months from {@code from} to {@code to}. The months of the checkpointed range that
+     * are already saved are skipped; any other range starts from scratch.
+     *
+     * @return the progress of the new backfill, or of the one still running
+     */
+    public BackfillProgress start(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new InvalidMenuQueryException("from must not be after to: " + from + " > " + to);
+        }
+        long months = ChronoUnit.MONTHS.between(from, to) + 1;
+        if (months > MAX_MONTHS) {
+            throw new InvalidMenuQueryException("At most " + MAX_MONTHS + " months per backfill: " + months);
+        }
+        if (crawlConfig.getMonthUrl() == null) {
+            throw new MonthUrlNotConfiguredException();
+        }
+
+        List<YearMonth> pending;
+        lock.lock();
+        try {
+            if (running) {
+                log.info("Backfill of {} to {} is still running", this.from, this.to);
+                return progress();
+            }
+            if (!from.equals(this.from) || !to.equals(this.to)) {
+                this.from = from;
+                this.to = to;
+                done.clear();
+            }
+            failed.clear();
+            pending = pending();
+            running = true;
+            writeCheckpoint();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Backfilling {} months from {} to {}", pending.size(), from, to);
+        executor.execute(() -> run(pending));
+        return progress();
+    }
+
+    public BackfillProgress progress() {
+        lock.lock();
+        try {
+            if (from == null) {
+                return BackfillProgress.NONE;
+            }
+            return new BackfillProgress(from.toString(), to.toString(), running,
+                    (int) ChronoUnit.MONTHS.between(from, to) + 1,
+                    done.stream().map(YearMonth::toString).toList(),
+                    failed.stream().map(YearMonth::toString).toList());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Picks up the checkpointed backfill where it stopped, if it has months left.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        YearMonth resumeFrom;
+        YearMonth resumeTo;
+        lock.lock();
+        try {
+            if (from == null || running || pending().isEmpty()) {
+                return;
+            }
+            resumeFrom = from;
+            resumeTo = to;
+        } finally {
+            lock.unlock();
+        }
+        if (crawlConfig.getMonthUrl() == null) {
+            log.warn("Backfill of {} to {} is unfinished, but crawl.month-url is not configured", resumeFrom, resumeTo);
+            return;
+        }
+        log.info("Resuming backfill of {} to {}", resumeFrom, resumeTo);
+        start(resumeFrom, resumeTo);
+    }
+
+    private void run(List<YearMonth> months) {
+        Semaphore permits = new Semaphore(crawlConfig.getParallelism(), true);
+        try (ExecutorService monthExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (YearMonth month : months) {
+                monthExecutor.execute(() -> {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    try {
+                        backfill(month);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } finally {
+            lock.lock();
+            try {
+                running = false;
+                log.info("Backfill of {} to {} finished: {} months done, {} failed", from, to, done.size(), failed.size());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void backfill(YearMonth month) {
+        try {
+            List<Menu> menus = menuCrawler.crawlMonth(crawlConfig, month);
+            if (!menus.isEmpty()) {
+                menuStore.saveAll(menus).join();
+            }
+            lock.lock();
+            try {
+                done.add(month);
+                writeCheckpoint();
+            } finally {
+                lock.unlock();
+            }
+            log.info("Backfilled {} menus of {}", menus.size(), month);
+        } catch (RuntimeException e) {
+            log.warn("Failed to backfill {}", month, e);
+            lock.lock();
+            try {
+                failed.add(month);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return the months of the range not saved yet, newest first. Called with the lock held.
+     */
+    private List<YearMonth> pending() {
+        List<YearMonth> pending = new ArrayList<>();
+        for (YearMonth month = to; !month.isBefore(from); month = month.minusMonths(1)) {
+            if (!done.contains(month)) {
+                pending.add(month);
+            }
+        }
+        return pending;
+    }
+
+    private void readCheckpoint() {
+        if (!checkpointFile.isFile() || checkpointFile.length() == 0) {
+            return;
+        }
+        try {
+            Checkpoint checkpoint = objectMapper.readValue(checkpointFile, Checkpoint.class);
+            if (checkpoint.from() == null || checkpoint.to() == null) {
+                log.warn("Ignoring backfill checkpoint {} without a range", checkpointFile);
+                return;
+            }
+            from = YearMonth.parse(checkpoint.from());
+            to = YearMonth.parse(checkpoint.to());
+            if (checkpoint.done() != null) {
+                for (String month : checkpoint.done()) {
+                    done.add(YearMonth.parse(month));
+                }
+            }
+            log.info("Backfill checkpoint of {} to {} found: {} months done", from, to, done.size());
+        } catch (IOException | DateTimeParseException e) {
+            log.warn("Ignoring unreadable backfill checkpoint {}", checkpointFile, e);
+            from = null;
+            to = null;
+            done.clear();
+        }
+    }
+
+    /**
+     * Replaces the checkpoint atomically, so a crash leaves either the old or the new one. Called with the lock
+     * held.
+     */
+    private void writeCheckpoint() {
+        Checkpoint checkpoint = new Checkpoint(from.toString(), to.toString(),
+                done.stream().map(YearMonth::toString).toList());
+        File tempFile = new File(checkpointFile.getAbsolutePath() + ".tmp");
+        try {
+            objectMapper.writeValue(tempFile, checkpoint);
+            Files.move(tempFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write backfill checkpoint {}; progress will not survive a restart", checkpointFile, e);
+        }
+    }
+
+}
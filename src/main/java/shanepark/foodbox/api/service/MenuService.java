@@ -1,19 +1,47 @@
 package shanepark.foodbox.api.service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.DateStrings;
 import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.api.domain.MenuFormat;
+import shanepark.foodbox.api.domain.MenuLookup;
+import shanepark.foodbox.api.domain.MenuPage;
 import shanepark.foodbox.api.domain.MenuResponse;
+import shanepark.foodbox.api.domain.SerializedResponse;
+import shanepark.foodbox.api.exception.InvalidMenuQueryException;
 import shanepark.foodbox.api.exception.MenuNotUploadedException;
-import shanepark.foodbox.api.repository.MenuRepository;
+import shanepark.foodbox.api.exception.MenuStoreException;
+import shanepark.foodbox.api.repository.MenuStore;
 import shanepark.foodbox.crawl.CrawlConfig;
+import shanepark.foodbox.crawl.CrawlListener;
 import shanepark.foodbox.crawl.MenuCrawler;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,54 +49,475 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MenuService {
 
-    private final MenuRepository menuRepository;
+    public static final int DEFAULT_PAGE_SIZE = 31;
+    public static final int MAX_PAGE_SIZE = 366;
+    public static final int MAX_BATCH_SIZE = 62;
+
+    private final MenuStore menuStore;
     private final MenuCrawler menuCrawler;
     private final CrawlConfig crawlConfig;
+    private final Clock clock;
+    private final MissingMenuCache missingMenus;
+    private final TaskScheduler taskScheduler;
+    private final MenuUpdateBroadcaster broadcaster;
+    private final SerializedResponseCache responseCache;
+    private final LastCrawlFile lastCrawlFile;
+
+    /**
+     * Runs {@link CrawlListener#persisted} once the write is durable, off the commit thread.
+     */
+    private final ExecutorService callbacks = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Store version the last successful crawl left behind, and when it finished. The time is kept in
+     * {@link LastCrawlFile} and restored on startup, paired with the version the store loaded.
+     */
+    private volatile CrawlMark lastCrawl;
+
+    /**
+     * The crawl currently running, if any. Callers that arrive while it runs wait on it instead of starting
+     * their own. Waiting on a future parks a virtual thread rather than pinning its carrier. It completes with
+     * the crawl's durability future once the crawled menus are in the store.
+     */
+    private final AtomicReference<CompletableFuture<CompletableFuture<Void>>> inFlightCrawl = new AtomicReference<>();
+
+    private record CrawlMark(long version, Instant at) {
+    }
+
+    private record Freshness(Instant crawledAt, boolean stale) {
+        MenuResponse of(Menu menu) {
+            return MenuResponse.of(menu, crawledAt, stale);
+        }
+    }
+
+    /**
+     * Background refresh state for stale-while-revalidate: at most one queued or running, and none sooner than
+     * {@code crawl.min-interval} after the previous one started, even if that one failed.
+     */
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Instant nextRefreshAt = Instant.MIN;
 
     @PostConstruct
     public void init() {
-        Boolean isUpToDate = menuRepository.findAll()
-                .stream()
-                .map(Menu::getDate)
-                .max(Comparator.naturalOrder())
-                .map(latest -> latest.isAfter(LocalDate.now()))
-                .orElse(false);
+        lastCrawlFile.read().ifPresent(at -> lastCrawl = new CrawlMark(menuStore.version(), at));
+        LocalDate today = LocalDate.now(clock);
+        boolean isUpToDate = !menuStore.findRangeDescending(today.plusDays(1), LocalDate.MAX, 1).isEmpty();
 
         if (!isUpToDate) {
             crawl();
         }
     }
 
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        callbacks.shutdown();
+        if (!callbacks.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Crawl callbacks did not finish before shutdown");
+            callbacks.shutdownNow();
+        }
+    }
+
     public MenuResponse getTodayMenu(LocalDate today) {
-        int dayOfWeek = today.getDayOfWeek().getValue();
-        if (dayOfWeek > 5) {
+        return getTodayMenu(today, freshness());
+    }
+
+    private MenuResponse getTodayMenu(LocalDate today, Freshness freshness) {
+        if (isWeekend(today)) {
             Menu menu = new Menu(today, List.of("주말에는 도시락이 없습니다."));
             return MenuResponse.of(menu);
         }
-        Menu menu = menuRepository.findByDate(today)
+        Menu menu = menuStore.findByDate(today)
                 .orElseGet(() -> {
-                    crawl();
-                    return menuRepository.findByDate(today).orElseThrow(MenuNotUploadedException::new);
+                    if (missingMenus.isBackingOff(today, clock.instant())) {
+                        throw new MenuNotUploadedException();
+                    }
+                    if (crawlConfig.isStaleWhileRevalidate()) {
+                        refreshInBackground();
+                        throw new MenuNotUploadedException();
+                    }
+                    return crawlFor(today);
                 });
-        return MenuResponse.of(menu);
+        return freshness.of(menu);
+    }
+
+    /**
+     * Today's menu for scheduled jobs such as the Slack notification. Unlike the HTTP reads, a menu the store
+     * does not have yet is crawled for and waited on, even while its backoff window is open or with
+     * stale-while-revalidate on: the job runs once a day and cannot come back for it later.
+     */
+    public MenuResponse fetchTodayMenu(LocalDate today) {
+        if (isWeekend(today)) {
+            return getTodayMenu(today);
+        }
+        Menu menu = menuStore.findByDate(today)
+                .orElseGet(() -> crawlFor(today));
+        return freshness().of(menu);
+    }
+
+    /**
+     * Crawls for the menu of {@code date}, opening (or extending) its backoff window if the site still does
+     * not have it.
+     */
+    private Menu crawlFor(LocalDate date) {
+        crawl();
+        Menu menu = menuStore.findByDate(date).orElseThrow(() -> {
+            recordMiss(date);
+            return new MenuNotUploadedException();
+        });
+        missingMenus.clear(date);
+        return menu;
+    }
+
+    /**
+     * Freshness of the stored data, judged by the last successful crawl. With stale-while-revalidate, finding
+     * it stale starts a refresh in the background; the caller goes on with what the store has.
+     */
+    private Freshness freshness() {
+        CrawlMark mark = lastCrawl;
+        Instant crawledAt = mark != null ? mark.at() : null;
+        boolean stale = crawledAt == null || clock.instant().isAfter(crawledAt.plus(crawlConfig.getTtl()));
+        if (stale && crawlConfig.isStaleWhileRevalidate()) {
+            refreshInBackground();
+        }
+        return new Freshness(crawledAt, stale);
+    }
+
+    private void refreshInBackground() {
+        Instant now = clock.instant();
+        if (now.isBefore(nextRefreshAt) || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        nextRefreshAt = now.plus(crawlConfig.getMinInterval());
+        taskScheduler.schedule(() -> {
+            try {
+                crawl();
+            } catch (RuntimeException e) {
+                log.warn("Background menu refresh failed. Serving stored data", e);
+            } finally {
+                refreshing.set(false);
+            }
+        }, now);
+    }
+
+    /**
+     * Opens (or extends) the backoff window of {@code date} and schedules a background crawl for when it closes,
+     * so the menu shows up without a request having to wait for it.
+     */
+    private void recordMiss(LocalDate date) {
+        MissingMenuCache.Miss miss = missingMenus.recordMiss(date, clock.instant());
+        if (miss != null) {
+            log.info("Menu of {} is not uploaded yet. Retry #{} at {}", date, miss.attempts(), miss.retryAt());
+            taskScheduler.schedule(() -> retryMissing(date), miss.retryAt());
+        }
+    }
+
+    void retryMissing(LocalDate date) {
+        if (menuStore.findByDate(date).isPresent() || date.isBefore(LocalDate.now(clock))) {
+            missingMenus.clear(date);
+            return;
+        }
+        try {
+            crawl();
+        } catch (RuntimeException e) {
+            log.warn("Background crawl for the menu of {} failed", date, e);
+        }
+        if (menuStore.findByDate(date).isPresent()) {
+            log.info("Menu of {} is uploaded now", date);
+            missingMenus.clear(date);
+        } else {
+            recordMiss(date);
+        }
     }
 
     public List<MenuResponse> findAll() {
-        return menuRepository.findAll()
+        return findAll(freshness());
+    }
+
+    private List<MenuResponse> findAll(Freshness freshness) {
+        return menuStore.findAll()
                 .stream()
-                .map(MenuResponse::of)
+                .map(freshness::of)
                 .collect(Collectors.toList());
     }
 
-    public synchronized void crawl() {
+    /**
+     * One page of [from, to], newest first. Each page is a range scan in the store that stops after the page
+     * is full; the cursor carries the day to resume from, so later pages do not rescan earlier ones.
+     *
+     * @param from   oldest date to include, or null for no lower bound
+     * @param to     newest date to include, or null for no upper bound
+     * @param limit  page size, or null for {@link #DEFAULT_PAGE_SIZE}; capped at {@link #MAX_PAGE_SIZE}
+     * @param cursor {@link MenuPage#nextCursor()} of the previous page, or null for the first page
+     */
+    public MenuPage findPage(LocalDate from, LocalDate to, Integer limit, String cursor) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        if (pageSize < 1) {
+            throw new InvalidMenuQueryException("limit must be positive: " + limit);
+        }
+        LocalDate lower = from != null ? from : LocalDate.MIN;
+        LocalDate upper = to != null ? to : LocalDate.MAX;
+        if (cursor != null) {
+            LocalDate resumeAt = decodeCursor(cursor);
+            upper = resumeAt.isBefore(upper) ? resumeAt : upper;
+        }
+        if (lower.isAfter(upper)) {
+            if (cursor == null) {
+                throw new InvalidMenuQueryException("from must not be after to: " + from + " > " + to);
+            }
+            return new MenuPage(List.of(), null);
+        }
+
+        // one extra row tells whether there is a next page
+        List<Menu> menus = menuStore.findRangeDescending(lower, upper, pageSize + 1);
+        String nextCursor = null;
+        if (menus.size() > pageSize) {
+            menus = menus.subList(0, pageSize);
+            nextCursor = encodeCursor(menus.getLast().getDate().minusDays(1));
+        }
+        return new MenuPage(menus.stream().map(freshness()::of).toList(), nextCursor);
+    }
+
+    /**
+     * @return menus of the Monday-to-Sunday week containing {@code date}, oldest first
+     */
+    public List<MenuResponse> findWeek(LocalDate date) {
+        LocalDate monday = date.with(DayOfWeek.MONDAY);
+        return menuStore.findRange(monday, monday.plusDays(6))
+                .stream()
+                .map(freshness()::of)
+                .toList();
+    }
+
+    /**
+     * Looks up every date with a single store call. A missing weekday from today on may just not be uploaded
+     * yet, so if there are any outside their backoff window, the site is crawled once for the whole batch and
+     * only those dates are looked up again.
+     *
+     * @return one lookup per distinct date, in request order
+     */
+    public List<MenuLookup> findByDates(List<LocalDate> dates) {
+        List<LocalDate> distinct = dates.stream().distinct().toList();
+        if (distinct.size() > MAX_BATCH_SIZE) {
+            throw new InvalidMenuQueryException("At most " + MAX_BATCH_SIZE + " dates per batch: " + distinct.size());
+        }
+        List<LocalDate> weekdays = distinct.stream()
+                .filter(date -> !isWeekend(date))
+                .toList();
+        Map<LocalDate, Menu> found = new HashMap<>();
+        menuStore.findByDates(weekdays).forEach(menu -> found.put(menu.getDate(), menu));
+
+        LocalDate today = LocalDate.now(clock);
+        Instant now = clock.instant();
+        List<LocalDate> pending = weekdays.stream()
+                .filter(date -> !found.containsKey(date) && !date.isBefore(today))
+                .filter(date -> !missingMenus.isBackingOff(date, now))
+                .toList();
+        if (!pending.isEmpty() && crawlConfig.isStaleWhileRevalidate()) {
+            refreshInBackground();
+        } else if (!pending.isEmpty()) {
+            crawl();
+            menuStore.findByDates(pending).forEach(menu -> found.put(menu.getDate(), menu));
+            pending.stream()
+                    .filter(date -> !found.containsKey(date))
+                    .forEach(this::recordMiss);
+        }
+
+        Freshness freshness = freshness();
+        return distinct.stream()
+                .map(date -> lookup(date, found.get(date), freshness))
+                .toList();
+    }
+
+    private static MenuLookup lookup(LocalDate date, Menu menu, Freshness freshness) {
+        if (isWeekend(date)) {
+            return new MenuLookup(DateStrings.of(date), MenuLookup.Status.WEEKEND, null);
+        }
+        if (menu == null) {
+            return new MenuLookup(DateStrings.of(date), MenuLookup.Status.NOT_UPLOADED, null);
+        }
+        return new MenuLookup(DateStrings.of(date), MenuLookup.Status.FOUND, freshness.of(menu));
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek().getValue() > 5;
+    }
+
+    private static String encodeCursor(LocalDate resumeAt) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(resumeAt.toEpochDay()).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static LocalDate decodeCursor(String cursor) {
+        try {
+            String epochDay = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            return LocalDate.ofEpochDay(Long.parseLong(epochDay));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidMenuQueryException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * @return {@code ApiResponse.success(getTodayMenu(today))} in {@code format}
+     */
+    public SerializedResponse getTodayMenuSerialized(LocalDate today, MenuFormat format) {
+        long version = menuStore.version();
+        Freshness freshness = freshness();
+        // the body changes at midnight even when the data does not
+        Instant midnight = today.atStartOfDay(clock.getZone()).toInstant();
+        Instant lastModified = lastModified(version);
+        return responseCache.get(SerializedResponseCache.Endpoint.TODAY, format, version, today, freshness,
+                lastModified.isAfter(midnight) ? lastModified : midnight,
+                () -> ApiResponse.success(getTodayMenu(today, freshness)));
+    }
+
+    /**
+     * @return {@code ApiResponse.success(findAll())} in {@code format}
+     */
+    public SerializedResponse findAllSerialized(MenuFormat format) {
+        long version = menuStore.version();
+        Freshness freshness = freshness();
+        return responseCache.get(SerializedResponseCache.Endpoint.ALL, format, version, null, freshness,
+                lastModified(version), () -> ApiResponse.success(findAll(freshness)));
+    }
+
+    /**
+     * The time of the last successful crawl if it produced {@code version}. Data that changed some other way
+     * (a hot reload, or no crawl recorded) is dated by when this service first saw it.
+     */
+    private Instant lastModified(long version) {
+        CrawlMark mark = lastCrawl;
+        return mark != null && mark.version() == version ? mark.at() : clock.instant();
+    }
+
+    /**
+     * Crawls the site unless another crawl is in flight, in which case this joins it and returns (or throws)
+     * with its outcome. A crawl that would start within {@code crawl.min-interval} of the last successful one
+     * is skipped. Returns once the crawled menus are served; it does not wait for them to reach the disk.
+     */
+    public void crawl() {
+        crawl(CrawlListener.NONE);
+    }
+
+    /**
+     * Same as {@link #crawl()}, reporting the crawl's phases to {@code listener}. A caller that joins a crawl
+     * already in flight hears nothing but its outcome.
+     *
+     * @return completes once the changed menus are as durable as the store promises, or exceptionally with a
+     * {@link MenuStoreException} (or the store's runtime exception) when they could not be written
+     */
+    public CompletableFuture<Void> crawl(CrawlListener listener) {
+        CompletableFuture<CompletableFuture<Void>> flight = new CompletableFuture<>();
+        CompletableFuture<CompletableFuture<Void>> running = inFlightCrawl.compareAndExchange(null, flight);
+        if (running != null) {
+            log.info("Joining the crawl in flight");
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        try {
+            CompletableFuture<Void> durable;
+            CrawlMark mark = lastCrawl;
+            if (mark != null && clock.instant().isBefore(mark.at().plus(crawlConfig.getMinInterval()))) {
+                log.info("Skip crawling: last crawl finished at {}", mark.at());
+                listener.skipped(mark.at());
+                durable = CompletableFuture.completedFuture(null);
+            } else {
+                durable = doCrawl(listener);
+            }
+            flight.complete(durable);
+            return durable;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightCrawl.set(null);
+        }
+    }
+
+    /**
+     * @return the crawled menus the store does not have yet, or has with different items
+     */
+    private List<Menu> changedMenus(List<Menu> crawled) {
+        Map<LocalDate, Menu> stored = new HashMap<>();
+        menuStore.findByDates(crawled.stream().map(Menu::getDate).toList())
+                .forEach(menu -> stored.put(menu.getDate(), menu));
+        return crawled.stream()
+                .filter(menu -> !menu.equals(stored.get(menu.getDate())))
+                .toList();
+    }
+
+    /**
+     * Hands the menus to the store. The store serves them right away; the returned future only tracks the write.
+     */
+    private CompletableFuture<Void> save(List<Menu> menus) {
+        return menuStore.saveAll(menus).handle((ignored, e) -> {
+            if (e == null) {
+                return null;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.warn("Failed to save {} crawled menus", menus.size(), cause);
+            // the page would look unchanged next time and these menus would never be saved
+            menuCrawler.forget(crawlConfig);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Exception exception) {
+                throw new MenuStoreException(exception);
+            }
+            throw new CompletionException(cause);
+        });
+    }
+
+    /**
+     * Crawls and saves the changed menus. Subscribers hear about them as soon as they are served, like readers.
+     *
+     * @return completes once the changed menus are as durable as the store promises
+     */
+    private CompletableFuture<Void> doCrawl(CrawlListener listener) {
         long start = System.currentTimeMillis();
         log.info("Start crawling menu");
-        
-        List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
-        log.info("Saving {} menus", menus.size());
-        menuRepository.saveAll(menus);
-        
+
+        List<Menu> menus = crawlConfig.getMonthUrl() != null
+                ? menuCrawler.crawlMonths(crawlConfig, monthsAroundNow(), listener)
+                : menuCrawler.crawlMenus(crawlConfig, listener);
+        List<Menu> changed = changedMenus(menus);
+        log.info("Saving {} menus ({} new or changed)", menus.size(), changed.size());
+        CompletableFuture<Void> durable;
+        if (changed.isEmpty()) {
+            listener.persisted(Duration.ZERO, 0);
+            durable = CompletableFuture.completedFuture(null);
+        } else {
+            long persistStart = System.nanoTime();
+            // off the store's commit thread, which completes the save
+            durable = save(changed).thenRunAsync(() ->
+                    listener.persisted(Duration.ofNanos(System.nanoTime() - persistStart), changed.size()), callbacks);
+        }
+        CrawlMark mark = new CrawlMark(menuStore.version(), clock.instant());
+        lastCrawl = mark;
+        lastCrawlFile.write(mark.at());
+        broadcaster.publish(changed, mark.at(), mark.version());
+
         log.info("Crawling done. total time taken: {} ms", System.currentTimeMillis() - start);
+        return durable;
+    }
+
+    /**
+     * @return the current month and {@link CrawlConfig#getMonthsAround()} months either side of it, oldest first
+     */
+    private List<YearMonth> monthsAroundNow() {
+        YearMonth current = YearMonth.now(clock);
+        int around = Math.max(0, crawlConfig.getMonthsAround());
+        List<YearMonth> months = new ArrayList<>(2 * around + 1);
+        for (int offset = -around; offset <= around; offset++) {
+            months.add(current.plusMonths(offset));
+        }
+        return months;
     }
 
 }
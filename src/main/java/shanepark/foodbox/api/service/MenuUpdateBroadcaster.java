@@ -0,0 +1,125 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.api.domain.MenuResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Pushes menu changes to {@code /api/menu/stream} subscribers as server-sent events. An idle subscriber is just
+ * a suspended async request, so no thread is held per connection. Each event is serialized once and the same
+ * bytes are written to every subscriber, each write on its own virtual thread so one slow client cannot hold
+ * up the rest.
+ */
+@Component
+@Slf4j
+public class MenuUpdateBroadcaster {
+
+    /**
+     * Subscriptions end after this long; EventSource clients reconnect on their own, and dead connections
+     * that never failed a write are cleaned up.
+     */
+    static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofMinutes(30);
+    static final long HEARTBEAT_MILLIS = 20_000;
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("ping").build();
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> CONNECTED = SseEmitter.event()
+            .comment("connected")
+            .reconnectTime(5_000)
+            .build();
+
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final Set<SseEmitter> subscribers = new CopyOnWriteArraySet<>();
+
+    @Autowired
+    public MenuUpdateBroadcaster(ObjectMapper objectMapper) {
+        this(objectMapper, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    MenuUpdateBroadcaster(ObjectMapper objectMapper, Executor executor) {
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(SUBSCRIPTION_TIMEOUT.toMillis());
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        send(emitter, CONNECTED);
+        return emitter;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Sends a {@code menu} event whose data is {@code ApiResponse.success(...)} of the changed menus.
+     */
+    public void publish(List<Menu> changed, Instant crawledAt, long version) {
+        if (changed.isEmpty() || subscribers.isEmpty()) {
+            return;
+        }
+        List<MenuResponse> menus = changed.stream()
+                .map(menu -> MenuResponse.of(menu, crawledAt, false))
+                .toList();
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(ApiResponse.success(menus));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = SseEmitter.event()
+                .id(Long.toString(version))
+                .name("menu")
+                .data(payload, MediaType.APPLICATION_JSON)
+                .build();
+        log.info("Pushing {} changed menus to {} subscribers", changed.size(), subscribers.size());
+        broadcast(event);
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds subscribers that went away.
+     */
+    @Scheduled(fixedRate = HEARTBEAT_MILLIS)
+    public void heartbeat() {
+        broadcast(HEARTBEAT);
+    }
+
+    private void broadcast(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        for (SseEmitter emitter : subscribers) {
+            executor.execute(() -> send(emitter, event));
+        }
+    }
+
+    private void send(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // the container completes the request and runs the callbacks; just stop writing to it
+            subscribers.remove(emitter);
+        }
+    }
+
+}
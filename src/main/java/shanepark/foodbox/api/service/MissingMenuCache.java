@@ -0,0 +1,67 @@
+package shanepark.foodbox.api.service;
+
+import org.springframework.stereotype.Component;
+import shanepark.foodbox.crawl.CrawlConfig;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Dates whose menu the site did not have on the last crawl. Each miss opens a backoff window; until it closes,
+ * lookups of that date fail fast instead of crawling again. Windows grow exponentially with every miss in a row.
+ */
+@Component
+class MissingMenuCache {
+
+    record Miss(int attempts, Instant retryAt) {
+    }
+
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final ConcurrentMap<LocalDate, Miss> misses = new ConcurrentHashMap<>();
+
+    MissingMenuCache(CrawlConfig crawlConfig) {
+        this.initialDelay = crawlConfig.getRetryInitialDelay();
+        this.maxDelay = crawlConfig.getRetryMaxDelay();
+    }
+
+    boolean isBackingOff(LocalDate date, Instant now) {
+        Miss miss = misses.get(date);
+        return miss != null && now.isBefore(miss.retryAt());
+    }
+
+    /**
+     * Records that a crawl did not find {@code date}. Callers that joined the same crawl all report it, so only
+     * the first report after a window closed opens the next one.
+     *
+     * @return the window this call opened, or null if one was already open
+     */
+    Miss recordMiss(LocalDate date, Instant now) {
+        Miss[] opened = new Miss[1];
+        misses.compute(date, (key, miss) -> {
+            if (miss != null && now.isBefore(miss.retryAt())) {
+                return miss;
+            }
+            int attempts = miss == null ? 1 : miss.attempts() + 1;
+            opened[0] = new Miss(attempts, now.plus(delay(attempts)));
+            return opened[0];
+        });
+        return opened[0];
+    }
+
+    void clear(LocalDate date) {
+        misses.remove(date);
+    }
+
+    Duration delay(int attempts) {
+        Duration delay = initialDelay;
+        for (int i = 1; i < attempts && delay.compareTo(maxDelay) < 0; i++) {
+            delay = delay.multipliedBy(2);
+        }
+        return delay.compareTo(maxDelay) < 0 ? delay : maxDelay;
+    }
+
+}
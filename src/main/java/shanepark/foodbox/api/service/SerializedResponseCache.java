@@ -0,0 +1,111 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.MenuFormat;
+import shanepark.foodbox.api.domain.SerializedResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The last serialized {@link ApiResponse} of each read endpoint per format, with its gzip variant and entity
+ * tag. A request only serializes again after the menu data, its freshness or the date has moved on.
+ */
+@Component
+@RequiredArgsConstructor
+class SerializedResponseCache {
+
+    enum Endpoint {
+        TODAY, ALL
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ApiResponseJsonWriter jsonWriter;
+
+    private final Map<Key, Entry> responses = new ConcurrentHashMap<>();
+    private final Map<MenuFormat, ObjectMapper> mappers = new ConcurrentHashMap<>();
+
+    /**
+     * Store versions restart from zero with the process, so entity tags carry when this instance started.
+     */
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    private record Key(Endpoint endpoint, MenuFormat format) {
+    }
+
+    private record Entry(Object freshness, SerializedResponse response) {
+    }
+
+    /**
+     * @param version      store version {@code response} reads; read it before anything else, so a change that
+     *                     lands while serializing only costs one extra rebuild
+     * @param date         the day the body is for, or null if it does not depend on the date
+     * @param freshness    freshness fields of the body; a cached body with other ones is rebuilt
+     * @param lastModified sent along with a rebuilt body
+     * @param response     builds the response on a miss
+     */
+    SerializedResponse get(Endpoint endpoint, MenuFormat format, long version, LocalDate date, Object freshness,
+                           Instant lastModified, Supplier<ApiResponse> response) {
+        Key key = new Key(endpoint, format);
+        Entry cached = responses.get(key);
+        if (cached != null && cached.freshness().equals(freshness) && cached.response().version() == version
+                && Objects.equals(cached.response().date(), date)) {
+            return cached.response();
+        }
+        byte[] body = serialize(response.get(), format);
+        SerializedResponse serialized = new SerializedResponse(version, date, body, gzip(body),
+                etag(version, format, date), lastModified);
+        responses.put(key, new Entry(freshness, serialized));
+        return serialized;
+    }
+
+    /**
+     * Compressed once per data change instead of per response.
+     *
+     * @return gzip of {@code body}, or null when that is no smaller (tiny bodies)
+     */
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size() < body.length ? out.toByteArray() : null;
+    }
+
+    /**
+     * Tags the data and the representation behind a body: this instance, the store version, the format and, for
+     * today's menu, the date. The freshness fields are left out on purpose; they change as the last crawl ages
+     * while the data stays the same, and a client holding that data should keep getting 304s.
+     */
+    private String etag(long version, MenuFormat format, LocalDate date) {
+        String tag = instanceTag + "-" + version + "-" + format.name().toLowerCase(Locale.ROOT);
+        return date != null ? tag + "-" + date : tag;
+    }
+
+    private byte[] serialize(ApiResponse response, MenuFormat format) {
+        if (format == MenuFormat.JSON) {
+            return jsonWriter.writeAsBytes(response);
+        }
+        try {
+            return mappers.computeIfAbsent(format, key -> key.mapperFrom(objectMapper)).writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -1,14 +1,81 @@
 package shanepark.foodbox.crawl;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+
+import java.time.Duration;
+import java.time.YearMonth;
 
 @ConfigurationProperties(prefix = "crawl")
-@RequiredArgsConstructor
 @Getter
 @ToString
 public class CrawlConfig {
     private final String crawlUrl;
+
+    /**
+     * Shortest gap between two crawls; callers arriving sooner reuse the data of the last one.
+     */
+    private final Duration minInterval;
+
+    /**
+     * Backoff for a menu the site does not have yet: the first retry waits this long, each further one twice
+     * as long as the one before, up to {@link #retryMaxDelay}.
+     */
+    private final Duration retryInitialDelay;
+    private final Duration retryMaxDelay;
+
+    /**
+     * How long crawled data counts as fresh. Older responses are marked stale.
+     */
+    private final Duration ttl;
+
+    /**
+     * When true, requests never crawl: they are answered from the store, and stale data or a missing menu
+     * only starts a crawl in the background.
+     */
+    private final boolean staleWhileRevalidate;
+
+    /**
+     * Page of one month, with {@code {year}} and {@code {month}} (1-12) placeholders. When set, crawls read the
+     * months around the current one from it instead of {@link #crawlUrl}, and backfills become possible.
+     */
+    private final String monthUrl;
+
+    /**
+     * How many months before and after the current one a crawl reads from {@link #monthUrl}.
+     */
+    private final int monthsAround;
+
+    /**
+     * Most month pages fetched at the same time.
+     */
+    private final int parallelism;
+
+    @ConstructorBinding
+    public CrawlConfig(String crawlUrl, Duration minInterval, Duration retryInitialDelay, Duration retryMaxDelay,
+                       Duration ttl, boolean staleWhileRevalidate, String monthUrl, Integer monthsAround,
+                       Integer parallelism) {
+        this.crawlUrl = crawlUrl;
+        this.minInterval = minInterval != null ? minInterval : Duration.ZERO;
+        this.retryInitialDelay = retryInitialDelay != null ? retryInitialDelay : Duration.ofMinutes(1);
+        this.retryMaxDelay = retryMaxDelay != null ? retryMaxDelay : Duration.ofMinutes(30);
+        this.ttl = ttl != null ? ttl : Duration.ofHours(6);
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.monthUrl = monthUrl != null && !monthUrl.isBlank() ? monthUrl : null;
+        this.monthsAround = monthsAround != null ? monthsAround : 1;
+        this.parallelism = parallelism != null && parallelism > 0 ? parallelism : 4;
+    }
+
+    /**
+     * @return {@link #monthUrl} for {@code month}, or null when it is not configured
+     */
+    public String monthUrl(YearMonth month) {
+        if (monthUrl == null) {
+            return null;
+        }
+        return monthUrl.replace("{year}", Integer.toString(month.getYear()))
+                .replace("{month}", Integer.toString(month.getMonthValue()));
+    }
 }
@@ -0,0 +1,48 @@
+package shanepark.foodbox.crawl;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Receives the progress of one crawl, phase by phase. Callbacks run on the crawling thread, except that
+ * {@link #persisted} for a write runs on another thread once the write is durable, possibly after the crawl
+ * has returned.
+ */
+public interface CrawlListener {
+
+    CrawlListener NONE = new CrawlListener() {
+    };
+
+    /**
+     * The month page was downloaded.
+     */
+    default void fetched(Duration took) {
+    }
+
+    /**
+     * @param menus number of menus found on the page
+     */
+    default void parsed(Duration took, int menus) {
+    }
+
+    /**
+     * The page is the same as at the last crawl of it, so it was neither parsed nor saved.
+     */
+    default void unchanged() {
+    }
+
+    /**
+     * @param changed number of new or changed menus written; nothing is written (and {@code took} is zero)
+     *                when there were none
+     */
+    default void persisted(Duration took, int changed) {
+    }
+
+    /**
+     * The crawl did not run because the last successful one finished at {@code lastCrawl}, within
+     * {@code crawl.min-interval}.
+     */
+    default void skipped(Instant lastCrawl) {
+    }
+
+}
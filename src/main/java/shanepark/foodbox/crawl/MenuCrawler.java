@@ -2,62 +2,254 @@ package shanepark.foodbox.crawl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.jsoup.nodes.Node;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.QueryParser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
 import shanepark.foodbox.api.domain.Menu;
 import shanepark.foodbox.api.exception.ImageCrawlException;
+import shanepark.foodbox.api.exception.MonthUrlNotConfiguredException;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class MenuCrawler {
 
+    private static final Evaluator MONTH_HEADER = QueryParser.parse("div.hgroup strong");
+    private static final Evaluator CELL = QueryParser.parse("td.info");
+    private static final Evaluator DAY = QueryParser.parse("span.dayy");
+    private static final Evaluator ITEM = QueryParser.parse("li");
+    private static final Evaluator ITEM_PART = QueryParser.parse("p");
+
+    /**
+     * Validators of the last page fetched from each URL. A page is only parsed again once the site says it
+     * changed (no 304 to a conditional request) and its body hashes differently.
+     */
+    private final Map<String, Validators> validators = new ConcurrentHashMap<>();
+
+    private record Validators(String etag, String lastModified, String contentHash) {
+    }
+
     public List<Menu> crawlMenus(CrawlConfig crawlConfig) {
-        try {
-            String url = crawlConfig.getCrawlUrl();
-            log.info("Crawling menus from: {}", url);
+        return crawlMenus(crawlConfig, CrawlListener.NONE);
+    }
+
+    /**
+     * Same as {@link #crawlMenus(CrawlConfig)}, reporting how long the download and the parsing took.
+     *
+     * @return the menus on the page, or an empty list when the page has not changed since the last crawl of
+     * the same URL, so there is nothing new to save
+     */
+    public List<Menu> crawlMenus(CrawlConfig crawlConfig, CrawlListener listener) {
+        return crawlPages(List.of(crawlConfig.getCrawlUrl()), crawlConfig.getParallelism(), listener);
+    }
+
+    /**
+     * Reads the page of every month in {@code months} from {@link CrawlConfig#getMonthUrl()}, at most
+     * {@link CrawlConfig#getParallelism()} at a time, and merges their menus. Durations are reported summed
+     * over the pages, and {@link CrawlListener#unchanged()} only when none of them changed.
+     *
+     * @return the menus of the pages that changed since their last crawl
+     */
+    public List<Menu> crawlMonths(CrawlConfig crawlConfig, List<YearMonth> months, CrawlListener listener) {
+        if (crawlConfig.getMonthUrl() == null) {
+            throw new MonthUrlNotConfiguredException();
+        }
+        List<String> urls = months.stream()
+                .map(crawlConfig::monthUrl)
+                .toList();
+        return crawlPages(urls, crawlConfig.getParallelism(), listener);
+    }
 
-            Document document = Jsoup.connect(url).get();
-            return extractMenusFromDocument(document);
+    /**
+     * Fetches and parses the page of {@code month} in full, without conditional headers and without touching
+     * what {@link #crawlMonths} remembers of it. For backfills, where every month page has to be saved once.
+     */
+    public List<Menu> crawlMonth(CrawlConfig crawlConfig, YearMonth month) {
+        String url = crawlConfig.monthUrl(month);
+        if (url == null) {
+            throw new MonthUrlNotConfiguredException();
+        }
+        try {
+            return fetch(url, false).menus();
         } catch (IOException e) {
             throw new ImageCrawlException(e);
         }
     }
 
-    private List<Menu> extractMenusFromDocument(Document document) {
+    /**
+     * Forgets the validators of every page read for {@code crawlConfig}, so the next crawl fetches and parses
+     * them in full. For when the menus of the last crawl could not be saved.
+     */
+    public void forget(CrawlConfig crawlConfig) {
+        if (crawlConfig.getMonthUrl() == null) {
+            validators.remove(crawlConfig.getCrawlUrl());
+            return;
+        }
+        validators.clear();
+    }
+
+    Connection connect(String url) {
+        return Jsoup.connect(url);
+    }
+
+    private List<Menu> crawlPages(List<String> urls, int parallelism, CrawlListener listener) {
+        List<Page> pages;
+        try {
+            pages = fetchAll(urls, parallelism);
+        } catch (IOException e) {
+            throw new ImageCrawlException(e);
+        }
+
+        Duration fetchTime = Duration.ZERO;
+        Duration parseTime = Duration.ZERO;
         List<Menu> menus = new ArrayList<>();
-        Optional<DateInfo> dateInfo = extractDateInfo(document);
+        boolean changed = false;
+        for (Page page : pages) {
+            fetchTime = fetchTime.plus(page.fetchTime());
+            parseTime = parseTime.plus(page.parseTime());
+            if (page.menus() != null) {
+                menus.addAll(page.menus());
+                changed = true;
+            }
+        }
+        listener.fetched(fetchTime);
+        if (!changed) {
+            listener.unchanged();
+            return List.of();
+        }
+        listener.parsed(parseTime, menus.size());
+        return menus;
+    }
 
-        if (dateInfo.isEmpty()) {
-            log.warn("Could not extract date information from document");
-            return menus;
+    /**
+     * A single URL is fetched on the calling thread; several go to virtual threads, {@code parallelism} at a time.
+     *
+     * @return the pages in the order of {@code urls}
+     */
+    private List<Page> fetchAll(List<String> urls, int parallelism) throws IOException {
+        if (urls.size() == 1) {
+            return List.of(fetch(urls.get(0), true));
+        }
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Page>> futures = new ArrayList<>(urls.size());
+            for (String url : urls) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetch(url, true);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            List<Page> pages = new ArrayList<>(urls.size());
+            for (Future<Page> future : futures) {
+                pages.add(future.get());
+            }
+            return pages;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while crawling " + urls);
+        }
+    }
+
+    /**
+     * @param menus null when the page has not changed since the last conditional fetch of its URL
+     */
+    private record Page(List<Menu> menus, Duration fetchTime, Duration parseTime) {
+    }
+
+    /**
+     * @param conditional whether to skip the parsing when the page is the same as on the last conditional fetch
+     */
+    private Page fetch(String url, boolean conditional) throws IOException {
+        log.info("Crawling menus from: {}", url);
+
+        long start = System.nanoTime();
+        Validators previous = conditional ? validators.get(url) : null;
+        Connection connection = connect(url).ignoreHttpErrors(true);
+        if (previous != null && previous.etag() != null) {
+            connection.header(HttpHeaders.IF_NONE_MATCH, previous.etag());
+        }
+        if (previous != null && previous.lastModified() != null) {
+            connection.header(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+        }
+        Connection.Response response = connection.execute();
+        if (response.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            log.info("Menu page not modified since the last crawl: {}", url);
+            return new Page(null, Duration.ofNanos(System.nanoTime() - start), Duration.ZERO);
+        }
+        if (response.statusCode() < 200 || response.statusCode() >= 400) {
+            throw new HttpStatusException("HTTP error fetching URL", response.statusCode(), url);
         }
+        byte[] body = response.bodyAsBytes();
+        long fetched = System.nanoTime();
+        Duration fetchTime = Duration.ofNanos(fetched - start);
 
-        Elements tableCells = document.select("td.info");
-        for (Element cell : tableCells) {
-            extractMenuFromCell(cell, dateInfo.get()).ifPresent(menus::add);
+        Validators current = new Validators(response.header(HttpHeaders.ETAG),
+                response.header(HttpHeaders.LAST_MODIFIED), DigestUtils.md5DigestAsHex(body));
+        if (previous != null && previous.contentHash().equals(current.contentHash())) {
+            validators.put(url, current);
+            log.info("Menu page content unchanged since the last crawl: {}", url);
+            return new Page(null, fetchTime, Duration.ZERO);
         }
 
+        List<Menu> menus = extractMenusFromDocument(response.parse());
+        Duration parseTime = Duration.ofNanos(System.nanoTime() - fetched);
         log.info("Successfully extracted {} menus", menus.size());
-        return menus;
+        if (conditional) {
+            validators.put(url, current);
+        }
+        return new Page(menus, fetchTime, parseTime);
     }
 
-    private Optional<DateInfo> extractDateInfo(Document document) {
-        Element monthHeader = document.selectFirst("div.hgroup strong");
-        if (monthHeader == null) {
-            return Optional.empty();
-        }
+    /**
+     * Reads the menus off a month page in one walk of the document. Cells seen before the month header are
+     * held back until it turns up.
+     */
+    List<Menu> extractMenusFromDocument(Document document) {
+        MenuPageFilter filter = new MenuPageFilter(document);
+        NodeTraversor.filter(filter, document);
+        return filter.menus();
+    }
 
-        String monthText = monthHeader.text();
+    private static Optional<DateInfo> parseDateInfo(String monthText) {
         String[] parts = monthText.split("[년월\\s]+");
 
         if (parts.length < 2) {
@@ -75,58 +267,130 @@ public class MenuCrawler {
         }
     }
 
-    private Optional<Menu> extractMenuFromCell(Element cell, DateInfo dateInfo) {
-        Optional<Integer> dayOpt = extractDay(cell);
-        if (dayOpt.isEmpty()) {
+    private static Optional<Integer> parseDay(String text) {
+        String dayText = text.replace("일", "");
+        try {
+            return Optional.of(Integer.parseInt(dayText));
+        } catch (NumberFormatException e) {
+            log.warn("Failed to parse day from text: {}", dayText, e);
             return Optional.empty();
         }
+    }
 
-        LocalDate date = LocalDate.of(dateInfo.year(), dateInfo.month(), dayOpt.get());
-        List<String> menuItems = extractMenuItems(cell);
+    private record DateInfo(int year, int month) {
+    }
 
-        Menu menu = new Menu(date, menuItems);
-        return Optional.of(menu);
+    private record Cell(int day, List<String> menuItems) {
     }
 
-    private Optional<Integer> extractDay(Element cell) {
-        Element dayElement = cell.selectFirst("span.dayy");
-        if (dayElement == null) {
-            return Optional.empty();
-        }
+    /**
+     * Matches a page element by element against {@link #MONTH_HEADER}, {@link #CELL} and, inside a cell, the day
+     * and the menu items, keeping only the cell and item it is in as state. Each matched element's text is read
+     * once; the children of a {@code p} are not walked at all.
+     * <p>
+     * A cell's day is the first {@code span.dayy} in it, and its items are the non-blank {@code p}s of each
+     * {@code li}, or the {@code li}'s own text when it has none. Cells and items are not expected to nest.
+     */
+    private static final class MenuPageFilter implements NodeFilter {
 
-        String dayText = dayElement.text().replace("일", "");
-        try {
-            return Optional.of(Integer.parseInt(dayText));
-        } catch (NumberFormatException e) {
-            log.warn("Failed to parse day from text: {}", dayText, e);
-            return Optional.empty();
+        private final Element root;
+        private final List<Menu> menus = new ArrayList<>();
+        private final List<Cell> beforeHeader = new ArrayList<>();
+        private boolean headerSeen;
+        private DateInfo dateInfo;
+
+        private Element cell;
+        private boolean daySeen;
+        private Integer day;
+        private List<String> menuItems;
+
+        private Element item;
+        private boolean itemHasParts;
+
+        MenuPageFilter(Element root) {
+            this.root = root;
         }
-    }
 
-    private List<String> extractMenuItems(Element cell) {
-        List<String> menuItems = new ArrayList<>();
-        Elements menuContainers = cell.select("li");
+        @Override
+        public FilterResult head(Node node, int depth) {
+            if (!(node instanceof Element element)) {
+                return FilterResult.CONTINUE;
+            }
+            if (!headerSeen && MONTH_HEADER.matches(root, element)) {
+                headerSeen = true;
+                dateInfo = parseDateInfo(element.text()).orElse(null);
+                for (Cell held : beforeHeader) {
+                    emit(held.day(), held.menuItems());
+                }
+                beforeHeader.clear();
+            }
+            if (cell == null) {
+                if (CELL.matches(root, element)) {
+                    cell = element;
+                    daySeen = false;
+                    day = null;
+                    menuItems = new ArrayList<>();
+                }
+                return FilterResult.CONTINUE;
+            }
 
-        for (Element li : menuContainers) {
-            Elements pTags = li.select("p");
+            if (!daySeen && DAY.matches(root, element)) {
+                daySeen = true;
+                day = parseDay(element.text()).orElse(null);
+            }
+            if (item == null) {
+                if (ITEM.matches(root, element)) {
+                    item = element;
+                    itemHasParts = false;
+                }
+            } else if (ITEM_PART.matches(root, element)) {
+                itemHasParts = true;
+                addMenuItem(element.text());
+                return daySeen ? FilterResult.SKIP_CHILDREN : FilterResult.CONTINUE;
+            }
+            return FilterResult.CONTINUE;
+        }
 
-            if (!pTags.isEmpty()) {
-                for (Element p : pTags) {
-                    String menuItem = p.text().trim();
-                    if (!menuItem.isEmpty()) {
-                        menuItems.add(menuItem);
+        @Override
+        public FilterResult tail(Node node, int depth) {
+            if (node == item) {
+                if (!itemHasParts) {
+                    addMenuItem(item.text());
+                }
+                item = null;
+            } else if (node == cell) {
+                if (day != null) {
+                    if (headerSeen) {
+                        emit(day, menuItems);
+                    } else {
+                        beforeHeader.add(new Cell(day, menuItems));
                     }
                 }
-                continue;
+                cell = null;
             }
-            String menuItem = li.text().trim();
+            return FilterResult.CONTINUE;
+        }
+
+        List<Menu> menus() {
+            if (dateInfo == null) {
+                log.warn("Could not extract date information from document");
+                return new ArrayList<>();
+            }
+            return menus;
+        }
+
+        private void addMenuItem(String text) {
+            String menuItem = text.trim();
             if (!menuItem.isEmpty()) {
                 menuItems.add(menuItem);
             }
         }
-        return menuItems;
-    }
 
-    private record DateInfo(int year, int month) {
+        private void emit(int day, List<String> menuItems) {
+            if (dateInfo != null) {
+                menus.add(new Menu(LocalDate.of(dateInfo.year(), dateInfo.month(), day), menuItems));
+            }
+        }
+
     }
 }
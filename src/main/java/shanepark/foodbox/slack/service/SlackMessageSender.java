@@ -1,6 +1,7 @@
 package shanepark.foodbox.slack.service;
 
 import com.google.gson.Gson;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import shanepark.foodbox.slack.domain.dto.SlackPayload;
@@ -10,6 +11,8 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
 
 @Component
 @Slf4j
@@ -17,19 +20,31 @@ public class SlackMessageSender {
 
     static private final Gson gson = new Gson();
 
+    /**
+     * Shared so connections are reused. {@code send} parks the calling virtual thread instead of holding a
+     * carrier, and the client's own callbacks run on virtual threads as well.
+     */
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
     public int sendMessage(String slackUrl, String slackToken, SlackPayload payload) throws IOException, InterruptedException {
-        try (HttpClient client = HttpClient.newHttpClient()) {
-            HttpResponse<String> response = client.send(HttpRequest.newBuilder()
-                    .uri(URI.create(slackUrl + slackToken))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(payload)))
-                    .build(), HttpResponse.BodyHandlers.ofString());
-            int statusCode = response.statusCode();
-            if (statusCode != 200) {
-                log.info("Failed to send message to slack. payload={}, statusCode = {}, response = {}, ", payload, statusCode, response);
-            }
-            return statusCode;
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder()
+                .uri(URI.create(slackUrl + slackToken))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(payload)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        int statusCode = response.statusCode();
+        if (statusCode != 200) {
+            log.info("Failed to send message to slack. payload={}, statusCode = {}, response = {}, ", payload, statusCode, response);
         }
+        return statusCode;
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
     }
 
 }
@@ -39,7 +39,7 @@ public class SlackNotifyService {
 
         MenuResponse menuResponse;
         if (status == NotifyDate.BENTO_DAY) {
-            menuResponse = menuService.getTodayMenu(today);
+            menuResponse = menuService.fetchTodayMenu(today);
         } else {
             menuResponse = new MenuResponse(today.toString(), List.of(status.getMessage()), true);
         }
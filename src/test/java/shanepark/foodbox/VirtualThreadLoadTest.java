@@ -0,0 +1,101 @@
+package shanepark.foodbox;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.crawl.MenuCrawler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Piles up requests that each block on a slow crawl, far more than the (deliberately tiny) Tomcat platform
+ * pool could hold, and checks that an unrelated request is still answered right away. With platform threads,
+ * or with a crawl that pins its carrier, the probe would queue behind the crawls.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=4"
+})
+class VirtualThreadLoadTest {
+
+    private static final int BLOCKED_REQUESTS = 32;
+    private static final long CRAWL_MILLIS = 300;
+
+    @MockBean
+    MenuCrawler menuCrawler;
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void dbFileDir(DynamicPropertyRegistry registry) throws IOException {
+        Path dir = Files.createTempDirectory("foodbox-load");
+        registry.add("foodbox.db-file-dir", dir::toString);
+    }
+
+    @Test
+    void blockedCrawlsShouldNotStarveOtherRequests() throws Exception {
+        Answer<List<Menu>> slowCrawl = invocation -> {
+            Thread.sleep(CRAWL_MILLIS);
+            return List.of();
+        };
+        when(menuCrawler.crawlMenus(any(), any())).thenAnswer(slowCrawl);
+        when(menuCrawler.crawlMonths(any(), any(), any())).thenAnswer(slowCrawl);
+        // an upcoming weekday that is missing makes every batch request crawl
+        LocalDate nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build()) {
+            List<CompletableFuture<HttpResponse<String>>> blocked = new ArrayList<>();
+            for (int i = 0; i < BLOCKED_REQUESTS; i++) {
+                blocked.add(client.sendAsync(get("/api/menu/batch?dates=" + nextMonday), HttpResponse.BodyHandlers.ofString()));
+            }
+            Thread.sleep(CRAWL_MILLIS / 2);
+
+            long start = System.nanoTime();
+            HttpResponse<String> probe = client.send(get("/api/menu"), HttpResponse.BodyHandlers.ofString());
+            long probeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            CompletableFuture.allOf(blocked.toArray(CompletableFuture[]::new))
+                    .get(BLOCKED_REQUESTS * CRAWL_MILLIS * 2, TimeUnit.MILLISECONDS);
+            System.out.printf("%d requests blocked on crawls, unrelated request answered in %d ms%n",
+                    BLOCKED_REQUESTS, probeMillis);
+            assertThat(probe.statusCode()).isEqualTo(200);
+            assertThat(probeMillis).isLessThan(CRAWL_MILLIS);
+            assertThat(blocked).allSatisfy(future -> assertThat(future.join().statusCode()).isEqualTo(200));
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+}
@@ -0,0 +1,122 @@
+package shanepark.foodbox.api.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import shanepark.foodbox.api.domain.BackfillProgress;
+import shanepark.foodbox.api.domain.CrawlJob;
+import shanepark.foodbox.api.exception.CrawlJobNotFoundException;
+import shanepark.foodbox.api.exception.MonthUrlNotConfiguredException;
+import shanepark.foodbox.api.service.CrawlJobService;
+import shanepark.foodbox.api.service.MenuBackfillService;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class CrawlJobControllerTest {
+
+    @Mock
+    CrawlJobService crawlJobService;
+
+    @Mock
+    MenuBackfillService menuBackfillService;
+
+    MockMvc mockMvc;
+
+    Instant submittedAt = Instant.parse("2025-03-31T03:00:00Z");
+    CrawlJob queued = CrawlJob.queued("job-1", submittedAt);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CrawlJobController(crawlJobService, menuBackfillService))
+                .setControllerAdvice(new ErrorControllerAdvice())
+                .build();
+    }
+
+    @Test
+    void submit_shouldAcceptWithJobLocation() throws Exception {
+        when(crawlJobService.submit()).thenReturn(queued);
+
+        mockMvc.perform(post("/api/crawl"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/crawl/job-1"))
+                .andExpect(jsonPath("$.data.id").value("job-1"))
+                .andExpect(jsonPath("$.data.status").value("QUEUED"))
+                .andExpect(jsonPath("$.data.submittedAt").value("2025-03-31T03:00:00Z"));
+    }
+
+    @Test
+    void submit_shouldStillAnswerGet() throws Exception {
+        when(crawlJobService.submit()).thenReturn(queued);
+
+        mockMvc.perform(get("/api/crawl"))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    void getJob_shouldReturnTimings() throws Exception {
+        CrawlJob done = queued.withStatus(CrawlJob.Status.SUCCEEDED)
+                .withFetchMillis(120L)
+                .withParseMillis(8L)
+                .withPersistMillis(51L);
+        when(crawlJobService.find("job-1")).thenReturn(done);
+
+        mockMvc.perform(get("/api/crawl/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.data.fetchMillis").value(120))
+                .andExpect(jsonPath("$.data.parseMillis").value(8))
+                .andExpect(jsonPath("$.data.persistMillis").value(51));
+    }
+
+    @Test
+    void getJob_shouldReportUnknownJob() throws Exception {
+        when(crawlJobService.find("nope")).thenThrow(new CrawlJobNotFoundException("nope"));
+
+        mockMvc.perform(get("/api/crawl/nope"))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.error.errorCode").value("CRAWL_JOB_NOT_FOUND"));
+    }
+
+    @Test
+    void backfill_shouldAcceptMonthRange() throws Exception {
+        BackfillProgress progress = new BackfillProgress("2025-01", "2025-03", true, 3, List.of("2025-03"), List.of());
+        when(menuBackfillService.start(YearMonth.of(2025, 1), YearMonth.of(2025, 3))).thenReturn(progress);
+
+        mockMvc.perform(post("/api/crawl/backfill").param("from", "2025-01").param("to", "2025-03"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/crawl/backfill"))
+                .andExpect(jsonPath("$.data.running").value(true))
+                .andExpect(jsonPath("$.data.totalMonths").value(3))
+                .andExpect(jsonPath("$.data.done[0]").value("2025-03"));
+    }
+
+    @Test
+    void backfill_shouldReportMissingMonthUrl() throws Exception {
+        when(menuBackfillService.start(YearMonth.of(2025, 1), YearMonth.of(2025, 3)))
+                .thenThrow(new MonthUrlNotConfiguredException());
+
+        mockMvc.perform(post("/api/crawl/backfill").param("from", "2025-01").param("to", "2025-03"))
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.error.errorCode").value("MONTH_URL_NOT_CONFIGURED"));
+    }
+
+    @Test
+    void backfill_shouldRejectMalformedMonth() throws Exception {
+        mockMvc.perform(post("/api/crawl/backfill").param("from", "2025-13").param("to", "2025-03"))
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+}
@@ -0,0 +1,131 @@
+package shanepark.foodbox.api.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import shanepark.foodbox.api.domain.MenuFormat;
+import shanepark.foodbox.api.domain.SerializedResponse;
+import shanepark.foodbox.api.service.MenuService;
+import shanepark.foodbox.api.service.MenuUpdateBroadcaster;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuApiControllerTest {
+
+    @Mock
+    MenuService menuService;
+
+    @Mock
+    MenuUpdateBroadcaster broadcaster;
+
+    MockMvc mockMvc;
+
+    ZoneId zone = ZoneId.of("Asia/Seoul");
+    LocalDate monday = LocalDate.of(2025, 3, 31);
+    Instant crawledAt = monday.atTime(8, 0).atZone(zone).toInstant();
+    byte[] gzipBody = {0x1f, (byte) 0x8b, 1, 2, 3};
+    SerializedResponse today = new SerializedResponse(1, monday,
+            "{\"status\":200}".getBytes(StandardCharsets.UTF_8), gzipBody, "abc123", crawledAt);
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(monday.atTime(23, 0).atZone(zone).toInstant(), zone);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MenuApiController(menuService, broadcaster, clock)).build();
+        lenient().when(menuService.getTodayMenuSerialized(monday, MenuFormat.JSON)).thenReturn(today);
+    }
+
+    @Test
+    void today_shouldSendValidatorsAndCacheUntilMidnight() throws Exception {
+        mockMvc.perform(get("/api/menu/today"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"status\":200}"))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc123\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, crawledAt.toEpochMilli()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600"))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void today_shouldSendGzipVariantWhenAccepted() throws Exception {
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(gzipBody))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc123-gzip\""));
+    }
+
+    @Test
+    void today_shouldAnswerMatchingGzipEtagWithNotModified() throws Exception {
+        mockMvc.perform(get("/api/menu/today")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc123-gzip\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void acceptsGzip_shouldHonorQualityAndWildcard() {
+        assertThat(MenuApiController.acceptsGzip(null)).isFalse();
+        assertThat(MenuApiController.acceptsGzip("identity")).isFalse();
+        assertThat(MenuApiController.acceptsGzip("gzip;q=0.5")).isTrue();
+        assertThat(MenuApiController.acceptsGzip("gzip; q=0")).isFalse();
+        assertThat(MenuApiController.acceptsGzip("*")).isTrue();
+        assertThat(MenuApiController.acceptsGzip("*, gzip;q=0")).isFalse();
+    }
+
+    @Test
+    void today_shouldAnswerMatchingEtagWithNotModified() throws Exception {
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.IF_NONE_MATCH, "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void today_shouldAnswerMatchingWeakEtagWithNotModified() throws Exception {
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.IF_NONE_MATCH, "W/\"abc123\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void today_shouldAnswerUnchangedSinceWithNotModified() throws Exception {
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.IF_MODIFIED_SINCE, crawledAt.toEpochMilli()))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void today_shouldSendBodyForStaleEtag() throws Exception {
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.IF_NONE_MATCH, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"status\":200}"));
+    }
+
+    @Test
+    void today_shouldSendCborWhenPreferred() throws Exception {
+        byte[] cbor = {(byte) 0xbf, 0x66, 0x73, (byte) 0xff};
+        SerializedResponse cborToday = new SerializedResponse(1, monday, cbor, null, "def456", crawledAt);
+        when(menuService.getTodayMenuSerialized(monday, MenuFormat.CBOR)).thenReturn(cborToday);
+
+        mockMvc.perform(get("/api/menu/today").header(HttpHeaders.ACCEPT, "application/json;q=0.5, application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MenuFormat.CBOR.mediaType()))
+                .andExpect(content().bytes(cbor))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"def456\""));
+    }
+
+}
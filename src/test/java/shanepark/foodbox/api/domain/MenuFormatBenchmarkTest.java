@@ -0,0 +1,90 @@
+package shanepark.foodbox.api.domain;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size, encode and decode time of a year of menus ({@code GET /api/menu}) in every {@link MenuFormat}.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class MenuFormatBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int ROUNDS = 500;
+    private static final int DISTINCT_DISHES = 400;
+
+    private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void binaryFormatsShouldBeSmallerThanJson() throws IOException {
+        ApiResponse response = ApiResponse.success(yearOfMenus());
+        Map<MenuFormat, Integer> sizes = new EnumMap<>(MenuFormat.class);
+
+        for (MenuFormat format : MenuFormat.values()) {
+            ObjectMapper mapper = format.mapperFrom(json);
+            byte[] body = mapper.writeValueAsBytes(response);
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                mapper.writeValueAsBytes(response);
+                mapper.readTree(body);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                mapper.writeValueAsBytes(response);
+            }
+            long encodeNanos = (System.nanoTime() - start) / ROUNDS;
+
+            JsonNode decoded = null;
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                decoded = mapper.readTree(body);
+            }
+            long decodeNanos = (System.nanoTime() - start) / ROUNDS;
+
+            System.out.printf("%-5s %,9d bytes  encode %,7d us  decode %,7d us%n",
+                    format, body.length, encodeNanos / 1_000, decodeNanos / 1_000);
+            assertThat(decoded).isEqualTo(json.readTree(json.writeValueAsBytes(response)));
+            sizes.put(format, body.length);
+        }
+
+        assertThat(sizes.get(MenuFormat.CBOR)).isLessThan(sizes.get(MenuFormat.JSON));
+        assertThat(sizes.get(MenuFormat.SMILE)).isLessThan(sizes.get(MenuFormat.JSON));
+    }
+
+    private static List<MenuResponse> yearOfMenus() {
+        Random random = new Random(42);
+        Instant crawledAt = Instant.parse("2025-08-29T00:00:00Z");
+        List<MenuResponse> menus = new ArrayList<>();
+        LocalDate end = LocalDate.of(2025, 8, 31);
+        for (LocalDate date = end; date.isAfter(end.minusYears(1)); date = date.minusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            List<String> items = new ArrayList<>();
+            items.add("쌀밥");
+            for (int i = 0; i < 4; i++) {
+                items.add("반찬메뉴" + random.nextInt(DISTINCT_DISHES));
+            }
+            items.add("배추김치");
+            menus.add(MenuResponse.of(new Menu(date, items), crawledAt, false));
+        }
+        return menus;
+    }
+
+}
@@ -0,0 +1,33 @@
+package shanepark.foodbox.api.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuFormatTest {
+
+    @Test
+    void negotiate_shouldDefaultToJson() {
+        assertThat(MenuFormat.negotiate(null)).isEqualTo(MenuFormat.JSON);
+        assertThat(MenuFormat.negotiate("")).isEqualTo(MenuFormat.JSON);
+        assertThat(MenuFormat.negotiate("*/*")).isEqualTo(MenuFormat.JSON);
+        assertThat(MenuFormat.negotiate("application/*")).isEqualTo(MenuFormat.JSON);
+        assertThat(MenuFormat.negotiate("text/html")).isEqualTo(MenuFormat.JSON);
+        assertThat(MenuFormat.negotiate("not a media type")).isEqualTo(MenuFormat.JSON);
+    }
+
+    @Test
+    void negotiate_shouldPickBinaryFormatWhenAsked() {
+        assertThat(MenuFormat.negotiate("application/cbor")).isEqualTo(MenuFormat.CBOR);
+        assertThat(MenuFormat.negotiate("application/x-jackson-smile")).isEqualTo(MenuFormat.SMILE);
+        assertThat(MenuFormat.negotiate("application/cbor, */*;q=0.1")).isEqualTo(MenuFormat.CBOR);
+    }
+
+    @Test
+    void negotiate_shouldHonorQuality() {
+        assertThat(MenuFormat.negotiate("application/json;q=0.5, application/cbor")).isEqualTo(MenuFormat.CBOR);
+        assertThat(MenuFormat.negotiate("application/cbor;q=0.5, application/json")).isEqualTo(MenuFormat.JSON);
+        assertThat(MenuFormat.negotiate("application/cbor;q=0, application/x-jackson-smile;q=0.2")).isEqualTo(MenuFormat.SMILE);
+    }
+
+}
@@ -0,0 +1,84 @@
+package shanepark.foodbox.api.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryMenuFileTest {
+
+    @TempDir
+    File dir;
+
+    private final Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+    private final Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+    private final Menu aug15 = new Menu(LocalDate.of(2025, 8, 15), List.of("광복절"));
+
+    @Test
+    void find_shouldProbeIndexByEpochDay() throws IOException {
+        File file = new File(dir, "db.bin");
+        BinaryMenuFile.write(file, List.of(aug15, aug1, aug4));
+
+        BinaryMenuFile binary = BinaryMenuFile.open(file);
+
+        assertThat(binary.find(aug1.getDate())).contains(aug1);
+        assertThat(binary.find(aug15.getDate())).contains(aug15);
+        assertThat(binary.find(LocalDate.of(2025, 8, 2))).isEmpty();
+        assertThat(binary.find(LocalDate.of(2025, 7, 31))).isEmpty();
+        assertThat(binary.find(LocalDate.of(2025, 8, 16))).isEmpty();
+    }
+
+    @Test
+    void findAll_shouldReturnNewestFirst() throws IOException {
+        File file = new File(dir, "db.bin");
+        BinaryMenuFile.write(file, List.of(aug1, aug15, aug4));
+
+        assertThat(BinaryMenuFile.open(file).findAll()).containsExactly(aug15, aug4, aug1);
+    }
+
+    @Test
+    void write_shouldRejectItemTooLongForRecord() throws IOException {
+        File file = new File(dir, "db.bin");
+        BinaryMenuFile.write(file, List.of(aug1));
+        Menu huge = new Menu(aug4.getDate(), List.of("가".repeat(30_000), "밥", "김치"));
+
+        assertThatThrownBy(() -> BinaryMenuFile.write(file, List.of(aug1, huge)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2025-08-04");
+        assertThat(BinaryMenuFile.open(file).findAll()).containsExactly(aug1);
+    }
+
+    @Test
+    void write_shouldRejectTooManyItemsForRecord() {
+        Menu crowded = new Menu(aug4.getDate(), Collections.nCopies(BinaryMenuFile.MAX_RECORD_FIELD + 1, "김치"));
+
+        assertThatThrownBy(() -> BinaryMenuFile.write(new File(dir, "db.bin"), List.of(crowded)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void write_shouldKeepItemsUpToUnsignedShortLength() throws IOException {
+        File file = new File(dir, "db.bin");
+        Menu longItem = new Menu(aug4.getDate(), List.of("a".repeat(BinaryMenuFile.MAX_RECORD_FIELD), "밥", "김치"));
+        BinaryMenuFile.write(file, List.of(longItem));
+
+        assertThat(BinaryMenuFile.open(file).find(aug4.getDate())).contains(longItem);
+    }
+
+    @Test
+    void open_shouldReturnEmptyForMissingFile() throws IOException {
+        BinaryMenuFile binary = BinaryMenuFile.open(new File(dir, "missing.bin"));
+
+        assertThat(binary.findAll()).isEmpty();
+        assertThat(binary.find(aug1.getDate())).isEmpty();
+    }
+
+}
@@ -0,0 +1,49 @@
+package shanepark.foodbox.api.repository;
+
+import org.junit.jupiter.api.Test;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryMenuStoreTest extends MenuStoreContractTest {
+
+    @Override
+    protected MenuStore openStore() {
+        BinaryMenuStore store = new BinaryMenuStore(dbFile, objectMapper);
+        store.init();
+        return store;
+    }
+
+    @Override
+    protected void closeStore(MenuStore store) {
+    }
+
+    @Test
+    void init_shouldConvertExistingDbFile() throws Exception {
+        Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+        File binaryFile = new File(dir, "db.bin");
+        assertThat(binaryFile.delete()).isTrue();
+        objectMapper.writeValue(dbFile, List.of(aug1, aug4));
+
+        menuStore = openStore();
+
+        assertThat(binaryFile).exists();
+        assertThat(menuStore.findAll()).containsExactly(aug4, aug1);
+    }
+
+    @Test
+    void saveAll_shouldFailWithoutWritingMenuTooLargeForRecord() {
+        Menu huge = new Menu(LocalDate.of(2025, 8, 4), List.of("가".repeat(30_000), "밥", "김치"));
+        long version = menuStore.version();
+
+        assertThat(menuStore.saveAll(List.of(huge))).isCompletedExceptionally();
+        assertThat(menuStore.version()).isEqualTo(version);
+        assertThat(menuStore.findByDate(huge.getDate())).isEmpty();
+    }
+
+}
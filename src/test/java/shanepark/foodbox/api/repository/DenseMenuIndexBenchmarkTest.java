@@ -0,0 +1,85 @@
+package shanepark.foodbox.api.repository;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Retained heap of ten years of weekday menus: the previous {@code HashMap<LocalDate, Menu>} against
+ * {@link DenseMenuIndex}. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class DenseMenuIndexBenchmarkTest {
+
+    private static final int YEARS = 10;
+    private static final int DISTINCT_DISHES = 400;
+    private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void denseIndexShouldRetainLessHeapThanHashMap() {
+        List<String> dishes = new ArrayList<>();
+        for (int i = 0; i < DISTINCT_DISHES; i++) {
+            dishes.add("반찬메뉴" + i);
+        }
+
+        long before = usedHeap();
+        Map<LocalDate, Menu> hashMap = new HashMap<>();
+        for (Menu menu : generate(dishes)) {
+            hashMap.put(menu.getDate(), menu);
+        }
+        long hashMapBytes = usedHeap() - before;
+
+        List<Menu> source = generate(dishes);
+        before = usedHeap();
+        DenseMenuIndex index = DenseMenuIndex.of(source);
+        source = null;
+        long denseBytes = usedHeap() - before;
+
+        System.out.printf("%d menus: HashMap<LocalDate, Menu> %,d bytes, DenseMenuIndex %,d bytes (%.1f%%)%n",
+                hashMap.size(), hashMapBytes, denseBytes, 100.0 * denseBytes / hashMapBytes);
+        assertThat(index.size()).isEqualTo(hashMap.size());
+        assertThat(denseBytes).isLessThan(hashMapBytes / 2);
+    }
+
+    /**
+     * Mimics db.json deserialization: every menu gets its own copies of the item strings.
+     */
+    private static List<Menu> generate(List<String> dishes) {
+        Random random = new Random(42);
+        List<Menu> menus = new ArrayList<>();
+        LocalDate end = LocalDate.of(2025, 8, 31);
+        for (LocalDate date = end.minusYears(YEARS); !date.isAfter(end); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            List<String> items = new ArrayList<>();
+            items.add(new String("쌀밥"));
+            for (int i = 0; i < 4; i++) {
+                items.add(new String(dishes.get(random.nextInt(dishes.size()))));
+            }
+            items.add(new String("배추김치"));
+            menus.add(new Menu(date, items));
+        }
+        return menus;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+}
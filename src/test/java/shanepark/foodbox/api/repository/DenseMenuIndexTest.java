@@ -0,0 +1,73 @@
+package shanepark.foodbox.api.repository;
+
+import org.junit.jupiter.api.Test;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DenseMenuIndexTest {
+
+    private final Menu jul31 = new Menu(LocalDate.of(2025, 7, 31), List.of("제육볶음", "된장국", "배추김치"));
+    private final Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "배추김치"));
+    private final Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+
+    @Test
+    void get_shouldMaterializeStoredMenus() {
+        DenseMenuIndex index = DenseMenuIndex.of(List.of(aug4, aug1));
+
+        assertThat(index.get(aug1.getDate())).isEqualTo(aug1);
+        assertThat(index.get(aug4.getDate())).isEqualTo(aug4);
+        assertThat(index.get(LocalDate.of(2025, 8, 2))).isNull();
+        assertThat(index.get(LocalDate.of(2025, 7, 1))).isNull();
+        assertThat(index.get(LocalDate.of(2025, 9, 1))).isNull();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldShareRepeatedItems() {
+        DenseMenuIndex index = DenseMenuIndex.of(List.of(aug1, aug4));
+
+        String kimchi1 = index.get(aug1.getDate()).getMenus().get(2);
+        String kimchi4 = index.get(aug4.getDate()).getMenus().get(2);
+
+        assertThat(kimchi1).isSameAs(kimchi4);
+    }
+
+    @Test
+    void get_shouldKeepStoredValidityAndNulls() {
+        Menu notValid = new Menu(aug1.getDate(), aug1.getMenus(), false);
+        Menu nullItem = new Menu(aug4.getDate(), Arrays.asList("돈육간장불고기", null, "배추김치"), true);
+        Menu nullList = new Menu(jul31.getDate(), null, false);
+
+        DenseMenuIndex index = DenseMenuIndex.of(List.of(notValid, nullItem, nullList));
+
+        assertThat(index.get(aug1.getDate())).isEqualTo(notValid);
+        assertThat(index.get(aug4.getDate())).isEqualTo(nullItem);
+        assertThat(index.get(jul31.getDate())).isEqualTo(nullList);
+    }
+
+    @Test
+    void with_shouldGrowBackwardsAndLeaveOriginalUntouched() {
+        DenseMenuIndex original = DenseMenuIndex.of(List.of(aug1, aug4));
+
+        DenseMenuIndex next = original.with(List.of(jul31), List.of(aug4.getDate()));
+
+        assertThat(next.ascending()).containsExactly(jul31, aug1);
+        assertThat(next.size()).isEqualTo(2);
+        assertThat(original.ascending()).containsExactly(aug1, aug4);
+    }
+
+    @Test
+    void rangeAndDescending_shouldFollowDateOrder() {
+        DenseMenuIndex index = DenseMenuIndex.of(List.of(aug4, jul31, aug1));
+
+        assertThat(index.range(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31))).containsExactly(aug1, aug4);
+        assertThat(index.descending()).containsExactly(aug4, aug1, jul31);
+        assertThat(DenseMenuIndex.EMPTY.descending()).isEmpty();
+    }
+
+}
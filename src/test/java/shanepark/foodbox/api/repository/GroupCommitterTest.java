@@ -0,0 +1,102 @@
+package shanepark.foodbox.api.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import shanepark.foodbox.api.config.ObjectMapperConfig;
+import shanepark.foodbox.api.config.StorageConfig;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GroupCommitterTest {
+
+    @TempDir
+    File dir;
+
+    private final Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+    private final Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+
+    @Test
+    void submit_shouldCoalesceSavesWithinWindowIntoOneWrite() throws Exception {
+        List<List<Menu>> batches = new ArrayList<>();
+        GroupCommitter committer = new GroupCommitter(batch -> {
+            batches.add(batch);
+            return List.of();
+        }, Duration.ofMillis(200), StorageConfig.FsyncPolicy.ALWAYS, Duration.ofSeconds(1));
+
+        CompletableFuture<Void> first = committer.submit(List.of(aug1));
+        CompletableFuture<Void> second = committer.submit(List.of(aug4));
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+        committer.close();
+
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactly(aug1, aug4);
+    }
+
+    @Test
+    void submit_shouldCompleteIntervalCommitsAfterSync() throws Exception {
+        File file = new File(dir, "db.json");
+        GroupCommitter committer = new GroupCommitter(batch -> List.of(file),
+                Duration.ofMillis(10), StorageConfig.FsyncPolicy.INTERVAL, Duration.ofMillis(300));
+
+        CompletableFuture<Void> future = committer.submit(List.of(aug1));
+        Thread.sleep(100);
+        boolean doneBeforeSync = future.isDone();
+        future.get(5, TimeUnit.SECONDS);
+        committer.close();
+
+        assertThat(doneBeforeSync).isFalse();
+    }
+
+    @Test
+    void submit_shouldFailFutureWhenWriteFails() throws InterruptedException {
+        GroupCommitter committer = new GroupCommitter(batch -> {
+            throw new IOException("disk full");
+        }, Duration.ofMillis(10), StorageConfig.FsyncPolicy.ALWAYS, Duration.ofSeconds(1));
+
+        CompletableFuture<Void> future = committer.submit(List.of(aug1));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IOException.class)
+                .hasMessageContaining("disk full");
+        committer.close();
+    }
+
+    @Test
+    void submit_shouldFailFutureWhenWriterThrowsUnchecked() throws Exception {
+        GroupCommitter committer = new GroupCommitter(batch -> {
+            throw new IllegalStateException("broken writer");
+        }, Duration.ofMillis(10), StorageConfig.FsyncPolicy.ALWAYS, Duration.ofSeconds(1));
+
+        CompletableFuture<Void> future = committer.submit(List.of(aug1));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("broken writer");
+        committer.submit(List.of(aug4)).exceptionally(e -> null).get(5, TimeUnit.SECONDS);
+        committer.close();
+    }
+
+    @Test
+    void repository_saveAllFutureShouldCompleteAfterFileIsWritten() throws Exception {
+        File dbFile = new File(dir, "db.json");
+        MenuRepository repository = new MenuRepository(dbFile, new ObjectMapperConfig().mapper());
+        repository.init();
+
+        repository.saveAll(List.of(aug1)).get(5, TimeUnit.SECONDS);
+
+        assertThat(dbFile.length()).isPositive();
+        repository.shutdown();
+    }
+
+}
@@ -0,0 +1,78 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import shanepark.foodbox.api.config.ObjectMapperConfig;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MenuFileReaderTest {
+
+    @TempDir
+    File dir;
+
+    private File dbFile;
+    private MenuFileReader reader;
+    private final List<Menu> menus = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapperConfig().mapper();
+        reader = new MenuFileReader(objectMapper);
+        dbFile = new File(dir, "db.json");
+        LocalDate start = LocalDate.of(2025, 8, 1);
+        for (int i = 0; i < 30; i++) {
+            menus.add(new Menu(start.plusDays(i), List.of("밥", "국", "김치 " + i)));
+        }
+        objectMapper.writeValue(dbFile, menus);
+    }
+
+    @Test
+    void read_shouldStreamEveryMenu() throws IOException {
+        List<Menu> read = new ArrayList<>();
+        reader.read(dbFile, date -> true, read::add);
+
+        assertThat(read).containsExactlyElementsOf(menus);
+    }
+
+    @Test
+    void read_shouldPassOnlyMatchingDates() throws IOException {
+        List<Menu> read = new ArrayList<>();
+        reader.read(dbFile, date -> date.getDayOfMonth() <= 3, read::add);
+
+        assertThat(read).containsExactlyElementsOf(menus.subList(0, 3));
+    }
+
+    @Test
+    void read_shouldRejectUnexpectedToken() throws IOException {
+        File broken = new File(dir, "broken.json");
+        Files.writeString(broken.toPath(), "[{\"date\":\"2025-08-01\",\"menus\":[\"밥\"]}, 42]");
+        List<Menu> read = new ArrayList<>();
+
+        assertThatThrownBy(() -> reader.read(broken, date -> true, read::add))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("VALUE_NUMBER_INT");
+        assertThat(read).hasSize(1);
+    }
+
+    @Test
+    void read_shouldIgnoreEmptyFile() throws IOException {
+        File empty = new File(dir, "empty.json");
+        List<Menu> read = new ArrayList<>();
+        reader.read(empty, date -> true, read::add);
+
+        assertThat(read).isEmpty();
+    }
+
+}
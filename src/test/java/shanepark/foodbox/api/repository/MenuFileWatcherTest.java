@@ -0,0 +1,172 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import shanepark.foodbox.api.config.ObjectMapperConfig;
+import shanepark.foodbox.api.config.StorageConfig;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuFileWatcherTest {
+
+    @TempDir
+    File dir;
+
+    private ObjectMapper objectMapper;
+    private File dbFile;
+    private MenuRepository repository;
+
+    private final Menu jul31 = new Menu(LocalDate.of(2025, 7, 31), List.of("제육볶음", "된장국", "배추김치"));
+    private final Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+    private final Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+    private final Menu aug4Patched = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "미역국", "배추김치"));
+    private final Menu aug4Edited = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "북엇국", "배추김치"));
+    private final Menu aug5 = new Menu(LocalDate.of(2025, 8, 5), List.of("제육볶음", "된장국", "깍두기"));
+
+    @BeforeEach
+    void setUp() throws IOException {
+        objectMapper = new ObjectMapperConfig().mapper();
+        dbFile = new File(dir, "db.json");
+        objectMapper.writeValue(dbFile, List.of(aug1, aug4));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        repository.shutdown();
+    }
+
+    @Test
+    void reload_shouldApplyOnlyChangedDates() throws IOException {
+        repository = new MenuRepository(dbFile, objectMapper);
+        repository.init();
+        Menu unchanged = repository.findByDate(aug1.getDate()).orElseThrow();
+
+        objectMapper.writeValue(dbFile, List.of(aug1, aug4Patched));
+        repository.reload(dbFile);
+
+        assertThat(repository.findByDate(aug4.getDate())).contains(aug4Patched);
+        assertThat(repository.findByDate(aug1.getDate()).orElseThrow()).isEqualTo(unchanged);
+    }
+
+    @Test
+    void reload_shouldRemoveDatesDroppedFromFile() throws IOException {
+        repository = new MenuRepository(dbFile, objectMapper);
+        repository.init();
+
+        objectMapper.writeValue(dbFile, List.of(aug1));
+        repository.reload(dbFile);
+
+        assertThat(repository.findAll()).containsExactly(aug1);
+    }
+
+    @Test
+    void reload_shouldKeepJournaledSavesAndOverrideTheirRecords() throws IOException, InterruptedException {
+        StorageConfig journaled = StorageConfig.defaults().withJournalEnabled(true);
+        repository = new MenuRepository(dbFile, objectMapper, journaled);
+        repository.init();
+        repository.saveAll(List.of(aug4Patched, aug5)).join();
+
+        objectMapper.writeValue(dbFile, List.of(aug1, aug4Edited));
+        repository.reload(dbFile);
+
+        assertThat(repository.findAll()).containsExactly(aug5, aug4Edited, aug1);
+        repository.shutdown();
+        repository = new MenuRepository(dbFile, objectMapper, journaled);
+        repository.init();
+        assertThat(repository.findAll()).containsExactly(aug5, aug4Edited, aug1);
+    }
+
+    @Test
+    void reload_shouldKeepRemovalsWithJournal() throws IOException, InterruptedException {
+        StorageConfig journaled = StorageConfig.defaults().withJournalEnabled(true);
+        repository = new MenuRepository(dbFile, objectMapper, journaled);
+        repository.init();
+        repository.saveAll(List.of(aug4Patched)).join();
+
+        objectMapper.writeValue(dbFile, List.of(aug1));
+        repository.reload(dbFile);
+
+        assertThat(repository.findAll()).containsExactly(aug1);
+        repository.shutdown();
+        repository = new MenuRepository(dbFile, objectMapper, journaled);
+        repository.init();
+        assertThat(repository.findAll()).containsExactly(aug1);
+    }
+
+    @Test
+    void reload_shouldKeepSavesStillInCommitWindow() throws IOException, InterruptedException {
+        StorageConfig slow = StorageConfig.defaults().withCommitWindow(Duration.ofSeconds(1));
+        repository = new MenuRepository(dbFile, objectMapper, slow);
+        repository.init();
+        CompletableFuture<Void> saved = repository.saveAll(List.of(aug5));
+
+        objectMapper.writeValue(dbFile, List.of(aug1, aug4Patched));
+        repository.reload(dbFile);
+
+        assertThat(saved).isNotDone();
+        assertThat(repository.findAll()).containsExactly(aug5, aug4Patched, aug1);
+        saved.join();
+        repository.shutdown();
+        repository = new MenuRepository(dbFile, objectMapper, slow);
+        repository.init();
+        assertThat(repository.findAll()).containsExactly(aug5, aug4Patched, aug1);
+    }
+
+    @Test
+    void reload_shouldDropMonthOfDeletedSegment() throws IOException {
+        StorageConfig monthly = StorageConfig.defaults().withLayout(StorageConfig.Layout.MONTHLY);
+        objectMapper.writeValue(dbFile, List.of(jul31, aug1, aug4));
+        repository = new MenuRepository(dbFile, objectMapper, monthly);
+        repository.init();
+        File july = new MenuSegments(dir, objectMapper).segmentFile(YearMonth.of(2025, 7));
+
+        Files.delete(july.toPath());
+        repository.reload(july);
+
+        assertThat(repository.findAll()).containsExactly(aug4, aug1);
+    }
+
+    @Test
+    void watcher_shouldPickUpDeletedSegment() throws IOException, InterruptedException {
+        StorageConfig monthly = StorageConfig.defaults().withLayout(StorageConfig.Layout.MONTHLY).withWatchEnabled(true);
+        objectMapper.writeValue(dbFile, List.of(jul31, aug1, aug4));
+        repository = new MenuRepository(dbFile, objectMapper, monthly);
+        repository.init();
+
+        Files.delete(new MenuSegments(dir, objectMapper).segmentFile(YearMonth.of(2025, 7)).toPath());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (repository.findByDate(jul31.getDate()).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(repository.findAll()).containsExactly(aug4, aug1);
+    }
+
+    @Test
+    void watcher_shouldPickUpExternalEdit() throws IOException, InterruptedException {
+        repository = new MenuRepository(dbFile, objectMapper, StorageConfig.defaults().withWatchEnabled(true));
+        repository.init();
+
+        objectMapper.writeValue(dbFile, List.of(aug1, aug4Patched));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!repository.findByDate(aug4.getDate()).orElseThrow().equals(aug4Patched) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(repository.findByDate(aug4.getDate())).contains(aug4Patched);
+    }
+
+}
@@ -0,0 +1,96 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import shanepark.foodbox.api.config.ObjectMapperConfig;
+import shanepark.foodbox.api.config.StorageConfig;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuJournalTest {
+
+    private File dbFile;
+    private File journalFile;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dbFile = File.createTempFile("test-db", ".json");
+        journalFile = new File(dbFile.getAbsolutePath() + ".journal");
+        journalFile.deleteOnExit();
+        objectMapper = new ObjectMapperConfig().mapper();
+    }
+
+    @Test
+    void replay_shouldReturnAppendedMenusInOrder() throws IOException {
+        MenuJournal journal = new MenuJournal(journalFile, objectMapper);
+        Menu first = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        Menu second = new Menu(LocalDate.of(2025, 8, 4), List.of("광복절"));
+        journal.append(List.of(first));
+        journal.append(List.of(second));
+
+        List<Menu> replayed = new ArrayList<>();
+        int count = journal.replay(replayed::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(replayed).containsExactly(first, second);
+    }
+
+    @Test
+    void replay_shouldDropCorruptedTail() throws IOException {
+        MenuJournal journal = new MenuJournal(journalFile, objectMapper);
+        Menu menu = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        journal.append(List.of(menu));
+        long intactSize = journal.size();
+        Files.writeString(journalFile.toPath(), "0000abcd {\"date\":\"2025-08-0", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        List<Menu> replayed = new ArrayList<>();
+        journal.replay(replayed::add);
+
+        assertThat(replayed).containsExactly(menu);
+        assertThat(journal.size()).isEqualTo(intactSize);
+    }
+
+    @Test
+    void repository_shouldReplayJournalOnStartup() throws InterruptedException {
+        StorageConfig config = StorageConfig.defaults().withJournalEnabled(true).withJournalCompactBytes(Long.MAX_VALUE);
+        MenuRepository repository = new MenuRepository(dbFile, objectMapper, config);
+        Menu menu = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        repository.saveAll(List.of(menu));
+        repository.shutdown();
+
+        assertThat(dbFile.length()).isZero();
+        assertThat(journalFile.length()).isPositive();
+
+        MenuRepository reloaded = new MenuRepository(dbFile, objectMapper, config);
+        reloaded.init();
+        assertThat(reloaded.findByDate(menu.getDate())).contains(menu);
+    }
+
+    @Test
+    void repository_shouldCompactJournalIntoSnapshot() throws InterruptedException {
+        StorageConfig config = StorageConfig.defaults().withJournalEnabled(true).withJournalCompactBytes(1);
+        MenuRepository repository = new MenuRepository(dbFile, objectMapper, config);
+        Menu menu = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        repository.saveAll(List.of(menu));
+        repository.shutdown();
+
+        assertThat(journalFile.length()).isZero();
+
+        MenuRepository reloaded = new MenuRepository(dbFile, objectMapper, config);
+        reloaded.init();
+        assertThat(reloaded.findByDate(menu.getDate())).contains(menu);
+    }
+
+}
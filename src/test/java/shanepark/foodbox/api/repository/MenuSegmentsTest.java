@@ -0,0 +1,144 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import shanepark.foodbox.api.config.ObjectMapperConfig;
+import shanepark.foodbox.api.config.StorageConfig;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MenuSegmentsTest {
+
+    @TempDir
+    File dir;
+
+    private ObjectMapper objectMapper;
+    private File dbFile;
+    private StorageConfig monthly;
+
+    private final Menu jul31 = new Menu(LocalDate.of(2025, 7, 31), List.of("제육볶음", "된장국", "배추김치"));
+    private final Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+    private final Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapperConfig().mapper();
+        dbFile = new File(dir, "db.json");
+        monthly = StorageConfig.defaults().withLayout(StorageConfig.Layout.MONTHLY);
+    }
+
+    @Test
+    void saveAll_shouldWriteOneSegmentPerMonth() throws InterruptedException {
+        MenuRepository repository = new MenuRepository(dbFile, objectMapper, monthly);
+        repository.init();
+        repository.saveAll(List.of(jul31, aug1, aug4));
+        repository.shutdown();
+
+        assertThat(new File(dir, "db-2025-07.json")).exists();
+        assertThat(new File(dir, "db-2025-08.json")).exists();
+
+        MenuRepository reloaded = new MenuRepository(dbFile, objectMapper, monthly);
+        reloaded.init();
+        assertThat(reloaded.findAll()).containsExactly(aug4, aug1, jul31);
+    }
+
+    @Test
+    void saveAll_shouldRewriteOnlyTouchedSegment() throws InterruptedException {
+        MenuRepository repository = new MenuRepository(dbFile, objectMapper, monthly);
+        repository.init();
+        repository.saveAll(List.of(jul31, aug1));
+        repository.shutdown();
+        File july = new File(dir, "db-2025-07.json");
+        assertThat(july.setLastModified(0)).isTrue();
+
+        MenuRepository next = new MenuRepository(dbFile, objectMapper, monthly);
+        next.init();
+        next.saveAll(List.of(aug4));
+        next.shutdown();
+
+        assertThat(july.lastModified()).isZero();
+    }
+
+    @Test
+    void init_shouldSplitExistingDbFile() throws IOException {
+        objectMapper.writeValue(dbFile, List.of(jul31, aug1));
+
+        MenuRepository repository = new MenuRepository(dbFile, objectMapper, monthly);
+        repository.init();
+
+        assertThat(new File(dir, "db-2025-07.json")).exists();
+        assertThat(new File(dir, "db-2025-08.json")).exists();
+        assertThat(repository.findByDate(aug1.getDate())).contains(aug1);
+        assertThat(dbFile).doesNotExist();
+        assertThat(new File(dir, "db.json" + MenuRepository.SPLIT_SUFFIX)).exists();
+    }
+
+    @Test
+    void init_shouldNotSplitAgainAfterRetentionRemovedEverySegment() throws IOException, InterruptedException {
+        Menu old = new Menu(LocalDate.of(2020, 1, 6), List.of("제육볶음", "된장국", "배추김치"));
+        objectMapper.writeValue(dbFile, List.of(old));
+        StorageConfig retained = monthly.withRetentionMonths(1).withRetentionAction(StorageConfig.RetentionAction.DROP);
+        MenuRepository first = new MenuRepository(dbFile, objectMapper, retained);
+        first.init();
+        first.shutdown();
+        assertThat(first.findAll()).isEmpty();
+        assertThat(dbFile.createNewFile()).isTrue();
+
+        MenuRepository second = new MenuRepository(dbFile, objectMapper, retained);
+        second.init();
+        second.shutdown();
+
+        assertThat(second.findAll()).isEmpty();
+        assertThat(new File(dir, "db-2020-01.json")).doesNotExist();
+    }
+
+    @Test
+    void saveAll_shouldApplyRetentionWhileRunning() throws InterruptedException {
+        Menu old = new Menu(LocalDate.of(2020, 1, 6), List.of("제육볶음", "된장국", "배추김치"));
+        MenuRepository repository = new MenuRepository(dbFile, objectMapper, monthly.withRetentionMonths(1));
+        repository.init();
+        long version = repository.version();
+
+        repository.saveAll(List.of(old)).join();
+
+        assertThat(new File(dir, "archive/db-2020-01.json")).exists();
+        assertThat(new File(dir, "db-2020-01.json")).doesNotExist();
+        assertThat(repository.findByDate(old.getDate())).isEmpty();
+        assertThat(repository.version()).isGreaterThan(version);
+        repository.shutdown();
+    }
+
+    @Test
+    void applyRetention_shouldArchiveOldSegments() throws IOException {
+        MenuSegments segments = new MenuSegments(dir, objectMapper);
+        segments.write(YearMonth.of(2025, 7), List.of(jul31));
+        segments.write(YearMonth.of(2025, 8), List.of(aug1));
+
+        segments.applyRetention(YearMonth.of(2025, 8), 1, StorageConfig.RetentionAction.ARCHIVE);
+
+        assertThat(segments.list()).containsOnlyKeys(YearMonth.of(2025, 8));
+        assertThat(new File(dir, "archive/db-2025-07.json")).exists();
+        assertThat(segments.loadAll()).containsOnlyKeys(aug1.getDate());
+    }
+
+    @Test
+    void applyRetention_shouldDropOldSegments() throws IOException {
+        MenuSegments segments = new MenuSegments(dir, objectMapper);
+        segments.write(YearMonth.of(2025, 7), List.of(jul31));
+
+        segments.applyRetention(YearMonth.of(2025, 9), 2, StorageConfig.RetentionAction.DROP);
+
+        assertThat(segments.isEmpty()).isTrue();
+        assertThat(new File(dir, "archive")).doesNotExist();
+    }
+
+}
@@ -0,0 +1,182 @@
+package shanepark.foodbox.api.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import shanepark.foodbox.api.config.ObjectMapperConfig;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Behaviour every {@link MenuStore} backend has to provide.
+ */
+abstract class MenuStoreContractTest {
+
+    @TempDir
+    File dir;
+
+    protected File dbFile;
+    protected ObjectMapper objectMapper;
+    protected MenuStore menuStore;
+
+    /**
+     * @return an initialized store on {@link #dbFile}
+     */
+    protected abstract MenuStore openStore();
+
+    protected abstract void closeStore(MenuStore store) throws Exception;
+
+    @BeforeEach
+    void setUpStore() {
+        dbFile = new File(dir, "db.json");
+        objectMapper = new ObjectMapperConfig().mapper();
+        menuStore = openStore();
+    }
+
+    @AfterEach
+    void tearDownStore() throws Exception {
+        closeStore(menuStore);
+    }
+
+    @Test
+    void save_shouldStoreMenuResponse() {
+        Menu menu = new Menu(LocalDate.now(), List.of("Breakfast", "Lunch", "Dinner"));
+
+        menuStore.saveAll(List.of(menu));
+        Optional<Menu> retrieved = menuStore.findByDate(menu.getDate());
+
+        assertThat(retrieved).isPresent();
+        assertThat(retrieved.get()).isEqualTo(menu);
+        assertThat(retrieved.get().getMenus()).containsExactly("Breakfast", "Lunch", "Dinner");
+    }
+
+    @Test
+    void findByDate_shouldReturnEmptyOptionalIfDateNotFound() {
+        Optional<Menu> retrieved = menuStore.findByDate(LocalDate.now());
+
+        assertThat(retrieved).isEmpty();
+    }
+
+    @Test
+    void findAll_shouldReturnAllSavedMenus() {
+        Menu menu1 = new Menu(LocalDate.now(), List.of("Breakfast", "Lunch"));
+        Menu menu2 = new Menu(LocalDate.now().plusDays(1), List.of("Brunch", "Supper"));
+        menuStore.saveAll(List.of(menu1, menu2));
+
+        List<Menu> allMenus = menuStore.findAll();
+
+        assertThat(allMenus).containsExactlyInAnyOrder(menu1, menu2);
+    }
+
+    @Test
+    void findAll_shouldReturnEmptyListIfNoMenusSaved() {
+        List<Menu> allMenus = menuStore.findAll();
+
+        assertThat(allMenus).isEmpty();
+    }
+
+    @Test
+    void findAll_shouldReturnNewestFirst() {
+        Menu older = new Menu(LocalDate.of(2025, 8, 1), List.of("Breakfast", "Lunch", "Dinner"));
+        Menu newer = new Menu(LocalDate.of(2025, 8, 4), List.of("Brunch", "Supper", "Snack"));
+        menuStore.saveAll(List.of(older, newer));
+
+        assertThat(menuStore.findAll()).containsExactly(newer, older);
+    }
+
+    @Test
+    void findRange_shouldReturnMenusWithinRangeOldestFirst() {
+        Menu jul31 = new Menu(LocalDate.of(2025, 7, 31), List.of("제육볶음", "된장국", "배추김치"));
+        Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+        Menu aug11 = new Menu(LocalDate.of(2025, 8, 11), List.of("탕수육", "짬뽕국", "배추김치"));
+        menuStore.saveAll(List.of(aug11, jul31, aug4, aug1));
+
+        assertThat(menuStore.findRange(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 7))).containsExactly(aug1, aug4);
+        assertThat(menuStore.findRange(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30))).isEmpty();
+    }
+
+    @Test
+    void findByDates_shouldReturnFoundMenusOldestFirst() {
+        Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+        Menu aug11 = new Menu(LocalDate.of(2025, 8, 11), List.of("탕수육", "짬뽕국", "배추김치"));
+        menuStore.saveAll(List.of(aug11, aug4, aug1));
+
+        assertThat(menuStore.findByDates(List.of(aug11.getDate(), LocalDate.of(2025, 8, 5), aug1.getDate(), aug1.getDate())))
+                .containsExactly(aug1, aug11);
+        assertThat(menuStore.findByDates(List.of())).isEmpty();
+    }
+
+    @Test
+    void findRangeDescending_shouldStopAtLimitNewestFirst() {
+        Menu jul31 = new Menu(LocalDate.of(2025, 7, 31), List.of("제육볶음", "된장국", "배추김치"));
+        Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+        Menu aug11 = new Menu(LocalDate.of(2025, 8, 11), List.of("탕수육", "짬뽕국", "배추김치"));
+        menuStore.saveAll(List.of(aug11, jul31, aug4, aug1));
+
+        assertThat(menuStore.findRangeDescending(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 8, 10), 2))
+                .containsExactly(aug4, aug1);
+        assertThat(menuStore.findRangeDescending(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31), 10))
+                .containsExactly(aug11, aug4, aug1);
+        assertThat(menuStore.findRangeDescending(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30), 10)).isEmpty();
+    }
+
+    @Test
+    void saveAll_shouldOverwriteExistingDate() {
+        Menu original = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+        Menu updated = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "미역국", "배추김치"));
+        menuStore.saveAll(List.of(original));
+        menuStore.saveAll(List.of(updated));
+
+        assertThat(menuStore.findByDate(updated.getDate())).contains(updated);
+        assertThat(menuStore.findAll()).containsExactly(updated);
+    }
+
+    @Test
+    void saveAll_shouldKeepVersionWhenNothingChanged() {
+        Menu menu = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+        menuStore.saveAll(List.of(menu)).join();
+        long version = menuStore.version();
+
+        menuStore.saveAll(List.of(new Menu(menu.getDate(), List.of("돈육간장불고기", "맑은콩나물국", "배추김치")))).join();
+
+        assertThat(menuStore.version()).isEqualTo(version);
+        assertThat(menuStore.findAll()).containsExactly(menu);
+    }
+
+    @Test
+    void saveAll_shouldKeepStoredValidityAndNullItems() throws Exception {
+        Menu notValid = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"), false);
+        Menu nullItem = new Menu(LocalDate.of(2025, 8, 4), Arrays.asList("돈육간장불고기", null, "배추김치"), true);
+        menuStore.saveAll(List.of(notValid, nullItem)).join();
+        closeStore(menuStore);
+
+        menuStore = openStore();
+
+        assertThat(menuStore.findByDate(notValid.getDate())).contains(notValid);
+        assertThat(menuStore.findByDate(nullItem.getDate())).contains(nullItem);
+    }
+
+    @Test
+    void saveAll_shouldSurviveReopen() throws Exception {
+        Menu menu = new Menu(LocalDate.of(2025, 8, 1), List.of("Breakfast", "Lunch", "Dinner"));
+        menuStore.saveAll(List.of(menu));
+        closeStore(menuStore);
+
+        menuStore = openStore();
+
+        assertThat(menuStore.findByDate(menu.getDate())).contains(menu);
+    }
+
+}
@@ -0,0 +1,39 @@
+package shanepark.foodbox.api.repository;
+
+import org.junit.jupiter.api.Test;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlMenuStoreTest extends MenuStoreContractTest {
+
+    @Override
+    protected MenuStore openStore() {
+        SqlMenuStore store = new SqlMenuStore(dbFile, objectMapper);
+        store.init();
+        return store;
+    }
+
+    @Override
+    protected void closeStore(MenuStore store) {
+        ((SqlMenuStore) store).shutdown();
+    }
+
+    @Test
+    void init_shouldImportExistingDbFile() throws Exception {
+        closeStore(menuStore);
+        assertThat(new File(dir, "menu.mv.db").delete()).isTrue();
+        Menu aug1 = new Menu(LocalDate.of(2025, 8, 1), List.of("치킨마요", "참치김치찌개", "포기김치"));
+        Menu aug4 = new Menu(LocalDate.of(2025, 8, 4), List.of("돈육간장불고기", "맑은콩나물국", "배추김치"));
+        objectMapper.writeValue(dbFile, List.of(aug1, aug4));
+
+        menuStore = openStore();
+
+        assertThat(menuStore.findAll()).containsExactly(aug4, aug1);
+    }
+
+}
@@ -0,0 +1,83 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.api.domain.MenuPage;
+import shanepark.foodbox.api.domain.MenuResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated and time per write of a default-sized page ({@code GET /api/menu?from=...}): the application
+ * ObjectMapper against {@link ApiResponseJsonWriter}. Both write to a discarding stream, so only serialization
+ * is measured. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class ApiResponseJsonWriterBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 20_000;
+    private static final int ROUNDS = 50_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ApiResponseJsonWriter writer = new ApiResponseJsonWriter(objectMapper);
+
+    interface Write {
+        void to(OutputStream out) throws IOException;
+    }
+
+    @Test
+    void writerShouldAllocateLessThanObjectMapper() throws IOException {
+        ApiResponse page = ApiResponse.success(new MenuPage(page(), "MjAxNzk"));
+
+        Result jackson = measure(out -> objectMapper.writeValue(out, page));
+        Result lean = measure(out -> writer.write(page, out));
+
+        System.out.printf("ObjectMapper          %,7d bytes/write  %,6d ns/write%n", jackson.bytes, jackson.nanos);
+        System.out.printf("ApiResponseJsonWriter %,7d bytes/write  %,6d ns/write%n", lean.bytes, lean.nanos);
+        assertThat(lean.bytes).isLessThan(jackson.bytes);
+    }
+
+    private record Result(long bytes, long nanos) {
+    }
+
+    private Result measure(Write write) throws IOException {
+        OutputStream out = OutputStream.nullOutputStream();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            write.to(out);
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            write.to(out);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(allocated / ROUNDS, nanos / ROUNDS);
+    }
+
+    private static List<MenuResponse> page() {
+        Instant crawledAt = Instant.parse("2025-08-29T00:00:00Z");
+        List<MenuResponse> menus = new ArrayList<>();
+        LocalDate date = LocalDate.of(2025, 8, 29);
+        for (int i = 0; i < 31; i++, date = date.minusDays(1)) {
+            menus.add(MenuResponse.of(new Menu(date, List.of("쌀밥", "된장찌개", "제육볶음", "계란말이", "배추김치")),
+                    crawledAt, false));
+        }
+        return menus;
+    }
+
+}
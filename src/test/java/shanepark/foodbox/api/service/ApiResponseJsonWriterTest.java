@@ -0,0 +1,75 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.CrawlJob;
+import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.api.domain.MenuLookup;
+import shanepark.foodbox.api.domain.MenuPage;
+import shanepark.foodbox.api.domain.MenuResponse;
+import shanepark.foodbox.api.exception.InvalidMenuQueryException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiResponseJsonWriterTest {
+
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    ApiResponseJsonWriter writer = new ApiResponseJsonWriter(objectMapper);
+
+    Instant crawledAt = Instant.parse("2025-03-31T00:00:00.123Z");
+    Menu monday = new Menu(LocalDate.of(2025, 3, 31), List.of("김치찌개", "된장찌개", "제육\"볶음\""));
+    Menu tuesday = new Menu(LocalDate.of(2025, 4, 1), List.of("쌀밥", "카레"));
+
+    @Test
+    void writeAsBytes_shouldMatchObjectMapperForMenuShapes() throws Exception {
+        assertSameAsObjectMapper(ApiResponse.success(MenuResponse.of(monday)));
+        assertSameAsObjectMapper(ApiResponse.success(List.of(
+                MenuResponse.of(monday, crawledAt, false), MenuResponse.of(tuesday, crawledAt, true))));
+        assertSameAsObjectMapper(ApiResponse.success(List.of()));
+        assertSameAsObjectMapper(ApiResponse.success(new MenuPage(List.of(MenuResponse.of(tuesday)), "MjAxNzk")));
+        assertSameAsObjectMapper(ApiResponse.success(new MenuPage(List.of(), null)));
+        assertSameAsObjectMapper(ApiResponse.success(List.of(
+                new MenuLookup("2025-03-31", MenuLookup.Status.FOUND, MenuResponse.of(monday, crawledAt, false)),
+                new MenuLookup("2025-04-05", MenuLookup.Status.WEEKEND, null))));
+    }
+
+    @Test
+    void writeAsBytes_shouldFallBackForOtherShapes() throws Exception {
+        assertSameAsObjectMapper(ApiResponse.fail(new InvalidMenuQueryException("limit must be between 1 and 366")));
+        assertSameAsObjectMapper(ApiResponse.success(CrawlJob.queued("job-1", crawledAt)));
+        assertSameAsObjectMapper(ApiResponse.success(List.of("not", "menus")));
+    }
+
+    @Test
+    void write_shouldLeaveStreamOpen() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("closed");
+            }
+        };
+
+        writer.write(ApiResponse.success(MenuResponse.of(monday)), out);
+
+        assertThat(out.toByteArray()).isEqualTo(objectMapper.writeValueAsBytes(ApiResponse.success(MenuResponse.of(monday))));
+    }
+
+    @Test
+    void menuResponse_shouldShareDateStrings() {
+        assertThat(MenuResponse.of(monday).date()).isSameAs(MenuResponse.of(monday, crawledAt, true).date());
+    }
+
+    private void assertSameAsObjectMapper(ApiResponse response) throws Exception {
+        assertThat(new String(writer.writeAsBytes(response)))
+                .isEqualTo(new String(objectMapper.writeValueAsBytes(response)));
+    }
+
+}
@@ -0,0 +1,163 @@
+package shanepark.foodbox.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import shanepark.foodbox.api.domain.CrawlJob;
+import shanepark.foodbox.api.exception.CrawlJobNotFoundException;
+import shanepark.foodbox.api.exception.ImageCrawlException;
+import shanepark.foodbox.api.exception.MenuStoreException;
+import shanepark.foodbox.crawl.CrawlListener;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CrawlJobServiceTest {
+
+    @Mock
+    MenuService menuService;
+
+    Instant now = Instant.parse("2025-03-31T03:00:00Z");
+    List<Runnable> queued = new ArrayList<>();
+    CrawlJobService crawlJobService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(menuService.crawl(any(CrawlListener.class))).thenReturn(CompletableFuture.completedFuture(null));
+        crawlJobService = new CrawlJobService(menuService, Clock.fixed(now, ZoneId.of("Asia/Seoul")), queued::add);
+    }
+
+    @Test
+    void submit_shouldReturnRunningJobInsteadOfStartingAnother() {
+        CrawlJob first = crawlJobService.submit();
+        CrawlJob second = crawlJobService.submit();
+
+        assertThat(second.id()).isEqualTo(first.id());
+        assertThat(first.status()).isEqualTo(CrawlJob.Status.QUEUED);
+        assertThat(queued).hasSize(1);
+        verify(menuService, never()).crawl(any());
+    }
+
+    @Test
+    void run_shouldRecordPhaseTimings() {
+        doAnswer(invocation -> {
+            CrawlListener listener = invocation.getArgument(0);
+            listener.fetched(Duration.ofMillis(120));
+            listener.parsed(Duration.ofMillis(8), 22);
+            listener.persisted(Duration.ofMillis(51), 3);
+            return CompletableFuture.completedFuture(null);
+        }).when(menuService).crawl(any(CrawlListener.class));
+
+        CrawlJob submitted = crawlJobService.submit();
+        queued.forEach(Runnable::run);
+
+        CrawlJob job = crawlJobService.find(submitted.id());
+        assertThat(job.status()).isEqualTo(CrawlJob.Status.SUCCEEDED);
+        assertThat(job.startedAt()).isEqualTo(now);
+        assertThat(job.finishedAt()).isEqualTo(now);
+        assertThat(job.fetchMillis()).isEqualTo(120);
+        assertThat(job.parseMillis()).isEqualTo(8);
+        assertThat(job.persistMillis()).isEqualTo(51);
+        assertThat(job.crawledMenus()).isEqualTo(22);
+        assertThat(job.changedMenus()).isEqualTo(3);
+        assertThat(job.error()).isNull();
+    }
+
+    @Test
+    void run_shouldMarkSkippedCrawl() {
+        doAnswer(invocation -> {
+            invocation.<CrawlListener>getArgument(0).skipped(now.minusSeconds(10));
+            return CompletableFuture.completedFuture(null);
+        }).when(menuService).crawl(any(CrawlListener.class));
+
+        CrawlJob submitted = crawlJobService.submit();
+        queued.forEach(Runnable::run);
+
+        assertThat(crawlJobService.find(submitted.id()).status()).isEqualTo(CrawlJob.Status.SKIPPED);
+    }
+
+    @Test
+    void run_shouldRecordFailureAndAcceptNextSubmission() {
+        doThrow(new ImageCrawlException(new IOException("connection reset")))
+                .when(menuService).crawl(any(CrawlListener.class));
+
+        CrawlJob failed = crawlJobService.submit();
+        queued.forEach(Runnable::run);
+        CrawlJob next = crawlJobService.submit();
+
+        CrawlJob job = crawlJobService.find(failed.id());
+        assertThat(job.status()).isEqualTo(CrawlJob.Status.FAILED);
+        assertThat(job.error()).isEqualTo("connection reset");
+        assertThat(job.fetchMillis()).isNull();
+        assertThat(next.id()).isNotEqualTo(failed.id());
+    }
+
+    @Test
+    void run_shouldFailWhenChangedMenusCannotBeWritten() {
+        doReturn(CompletableFuture.failedFuture(new MenuStoreException(new IOException("disk full"))))
+                .when(menuService).crawl(any(CrawlListener.class));
+
+        CrawlJob submitted = crawlJobService.submit();
+        queued.forEach(Runnable::run);
+
+        CrawlJob job = crawlJobService.find(submitted.id());
+        assertThat(job.status()).isEqualTo(CrawlJob.Status.FAILED);
+        assertThat(job.error()).isEqualTo("disk full");
+    }
+
+    @Test
+    void submit_shouldForgetOldestFinishedJobs() {
+        CrawlJob oldest = crawlJobService.submit();
+        queued.forEach(Runnable::run);
+        for (int i = 0; i < CrawlJobService.MAX_KEPT_JOBS; i++) {
+            queued.clear();
+            crawlJobService.submit();
+            queued.forEach(Runnable::run);
+        }
+
+        assertThatThrownBy(() -> crawlJobService.find(oldest.id())).isInstanceOf(CrawlJobNotFoundException.class);
+    }
+
+    @Test
+    void subscribe_shouldNotHoldUpTheJobWhileEventsAreUnsent() {
+        CrawlJob submitted = crawlJobService.submit();
+        crawlJobService.subscribe(submitted.id());
+        assertThat(queued).hasSize(2);
+
+        queued.get(0).run();
+
+        assertThat(crawlJobService.find(submitted.id()).status()).isEqualTo(CrawlJob.Status.SUCCEEDED);
+        assertThat(queued).hasSize(2);
+        for (int i = 1; i < queued.size(); i++) {
+            queued.get(i).run();
+        }
+        assertThat(queued).hasSize(2);
+    }
+
+    @Test
+    void find_shouldRejectUnknownJob() {
+        assertThatThrownBy(() -> crawlJobService.find("nope"))
+                .isInstanceOf(CrawlJobNotFoundException.class)
+                .hasMessage("No crawl job nope");
+    }
+
+}
@@ -0,0 +1,166 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import shanepark.foodbox.api.domain.BackfillProgress;
+import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.api.exception.ImageCrawlException;
+import shanepark.foodbox.api.exception.InvalidMenuQueryException;
+import shanepark.foodbox.api.repository.MenuStore;
+import shanepark.foodbox.crawl.CrawlConfig;
+import shanepark.foodbox.crawl.CrawlConfigFixture;
+import shanepark.foodbox.crawl.MenuCrawler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MenuBackfillServiceTest {
+
+    @Mock
+    MenuCrawler menuCrawler;
+
+    @Mock
+    MenuStore menuStore;
+
+    @TempDir
+    Path dir;
+
+    CrawlConfig crawlConfig = CrawlConfigFixture.builder().monthPages(1, 2).build();
+    ObjectMapper objectMapper = new ObjectMapper();
+    List<Runnable> queued = new ArrayList<>();
+    File checkpointFile;
+
+    @BeforeEach
+    void setUp() {
+        checkpointFile = dir.resolve(MenuBackfillService.CHECKPOINT_FILE).toFile();
+        lenient().when(menuStore.saveAll(any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void start_shouldSaveEveryMonthAndCheckpoint() throws IOException {
+        when(menuCrawler.crawlMonth(eq(crawlConfig), any())).thenAnswer(invocation ->
+                List.of(menuOf(invocation.getArgument(1))));
+        MenuBackfillService service = newService();
+
+        BackfillProgress started = service.start(YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+        queued.forEach(Runnable::run);
+
+        assertThat(started.running()).isTrue();
+        assertThat(started.totalMonths()).isEqualTo(3);
+        BackfillProgress progress = service.progress();
+        assertThat(progress.running()).isFalse();
+        assertThat(progress.done()).containsExactly("2025-03", "2025-02", "2025-01");
+        assertThat(progress.failed()).isEmpty();
+        verify(menuStore).saveAll(List.of(menuOf(YearMonth.of(2025, 2))));
+        MenuBackfillService.Checkpoint checkpoint = objectMapper.readValue(checkpointFile, MenuBackfillService.Checkpoint.class);
+        assertThat(checkpoint.done()).containsExactly("2025-03", "2025-02", "2025-01");
+    }
+
+    @Test
+    void start_shouldNotCheckpointFailedMonths() {
+        when(menuCrawler.crawlMonth(eq(crawlConfig), any())).thenAnswer(invocation -> {
+            YearMonth month = invocation.getArgument(1);
+            if (month.equals(YearMonth.of(2025, 2))) {
+                throw new ImageCrawlException(new IOException("timeout"));
+            }
+            return List.of(menuOf(month));
+        });
+        MenuBackfillService service = newService();
+
+        service.start(YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+        queued.forEach(Runnable::run);
+
+        BackfillProgress progress = service.progress();
+        assertThat(progress.done()).containsExactly("2025-03", "2025-01");
+        assertThat(progress.failed()).containsExactly("2025-02");
+    }
+
+    @Test
+    void start_shouldResumeFromCheckpointAfterRestart() {
+        when(menuCrawler.crawlMonth(eq(crawlConfig), any())).thenAnswer(invocation -> {
+            YearMonth month = invocation.getArgument(1);
+            if (month.equals(YearMonth.of(2025, 2))) {
+                throw new ImageCrawlException(new IOException("timeout"));
+            }
+            return List.of(menuOf(month));
+        });
+        newService().start(YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+        queued.forEach(Runnable::run);
+        queued.clear();
+
+        MenuBackfillService restarted = newService();
+        restarted.resume();
+        queued.forEach(Runnable::run);
+
+        verify(menuCrawler, times(1)).crawlMonth(crawlConfig, YearMonth.of(2025, 3));
+        verify(menuCrawler, times(2)).crawlMonth(crawlConfig, YearMonth.of(2025, 2));
+        assertThat(restarted.progress().failed()).containsExactly("2025-02");
+    }
+
+    @Test
+    void start_shouldStartOverForAnotherRange() {
+        when(menuCrawler.crawlMonth(eq(crawlConfig), any())).thenAnswer(invocation ->
+                List.of(menuOf(invocation.getArgument(1))));
+        MenuBackfillService service = newService();
+        service.start(YearMonth.of(2025, 1), YearMonth.of(2025, 2));
+        queued.forEach(Runnable::run);
+        queued.clear();
+
+        service.start(YearMonth.of(2024, 12), YearMonth.of(2025, 1));
+        queued.forEach(Runnable::run);
+
+        assertThat(service.progress().done()).containsExactly("2025-01", "2024-12");
+    }
+
+    @Test
+    void start_shouldReturnRunningBackfillInsteadOfStartingAnother() {
+        MenuBackfillService service = newService();
+
+        service.start(YearMonth.of(2025, 1), YearMonth.of(2025, 3));
+        BackfillProgress second = service.start(YearMonth.of(2024, 1), YearMonth.of(2024, 3));
+
+        assertThat(second.from()).isEqualTo("2025-01");
+        assertThat(queued).hasSize(1);
+        verify(menuCrawler, never()).crawlMonth(any(), any());
+    }
+
+    @Test
+    void start_shouldRejectInvalidRanges() {
+        MenuBackfillService service = newService();
+
+        assertThatThrownBy(() -> service.start(YearMonth.of(2025, 3), YearMonth.of(2025, 1)))
+                .isInstanceOf(InvalidMenuQueryException.class);
+        assertThatThrownBy(() -> service.start(YearMonth.of(2000, 1), YearMonth.of(2025, 1)))
+                .isInstanceOf(InvalidMenuQueryException.class);
+    }
+
+    private MenuBackfillService newService() {
+        return new MenuBackfillService(menuCrawler, crawlConfig, menuStore, objectMapper, checkpointFile, queued::add);
+    }
+
+    private static Menu menuOf(YearMonth month) {
+        return new Menu(month.atDay(1), List.of("밥", "김치"));
+    }
+
+}
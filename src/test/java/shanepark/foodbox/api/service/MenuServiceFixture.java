@@ -0,0 +1,32 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.scheduling.TaskScheduler;
+import shanepark.foodbox.api.repository.MenuStore;
+import shanepark.foodbox.crawl.CrawlConfig;
+import shanepark.foodbox.crawl.MenuCrawler;
+
+import java.io.File;
+import java.time.Clock;
+
+/**
+ * Builds a {@link MenuService} wired the way the application wires it, so tests outside this package can use a
+ * real one.
+ */
+public final class MenuServiceFixture {
+
+    private MenuServiceFixture() {
+    }
+
+    /**
+     * @param dir where the service keeps its files, such as the last crawl time
+     */
+    public static MenuService create(MenuStore menuStore, MenuCrawler menuCrawler, CrawlConfig crawlConfig,
+                                     ObjectMapper objectMapper, Clock clock, TaskScheduler taskScheduler,
+                                     MenuUpdateBroadcaster broadcaster, File dir) {
+        return new MenuService(menuStore, menuCrawler, crawlConfig, clock, new MissingMenuCache(crawlConfig),
+                taskScheduler, broadcaster, new SerializedResponseCache(objectMapper, new ApiResponseJsonWriter(objectMapper)),
+                new LastCrawlFile(new File(dir, "db.json"), objectMapper));
+    }
+
+}
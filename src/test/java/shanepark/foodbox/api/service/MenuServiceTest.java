@@ -0,0 +1,576 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import shanepark.foodbox.api.domain.ApiResponse;
+import shanepark.foodbox.api.domain.Menu;
+import shanepark.foodbox.api.domain.MenuFormat;
+import shanepark.foodbox.api.domain.MenuLookup;
+import shanepark.foodbox.api.domain.MenuPage;
+import shanepark.foodbox.api.domain.MenuResponse;
+import shanepark.foodbox.api.domain.SerializedResponse;
+import shanepark.foodbox.api.exception.InvalidMenuQueryException;
+import shanepark.foodbox.api.exception.MenuNotUploadedException;
+import shanepark.foodbox.api.exception.MenuStoreException;
+import shanepark.foodbox.api.repository.MenuStore;
+import shanepark.foodbox.crawl.CrawlConfig;
+import shanepark.foodbox.crawl.CrawlConfigFixture;
+import shanepark.foodbox.crawl.CrawlListener;
+import shanepark.foodbox.crawl.MenuCrawler;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MenuServiceTest {
+
+    @Mock
+    MenuStore menuStore;
+
+    @Mock
+    MenuCrawler menuCrawler;
+
+    ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    MenuService menuService;
+
+    ZoneId zone = ZoneId.of("Asia/Seoul");
+    LocalDate monday = LocalDate.of(2025, 3, 31);
+    Instant mondayNoon = monday.atTime(12, 0).atZone(zone).toInstant();
+    Menu mondayMenu = new Menu(monday, List.of("김치찌개", "된장찌개", "제육볶음"));
+
+    @Mock
+    TaskScheduler taskScheduler;
+
+    @TempDir
+    File dir;
+
+    @Mock
+    MenuUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(menuStore.saveAll(any())).thenReturn(CompletableFuture.completedFuture(null));
+        menuService = newService(CrawlConfigFixture.defaults(), Clock.fixed(mondayNoon, zone));
+    }
+
+    MenuService newService(CrawlConfig crawlConfig, Clock clock) {
+        return MenuServiceFixture.create(menuStore, menuCrawler, crawlConfig, objectMapper, clock, taskScheduler,
+                broadcaster, dir);
+    }
+
+    /**
+     * What the service answers for data it has not crawled itself since startup.
+     */
+    static MenuResponse uncrawled(Menu menu) {
+        return MenuResponse.of(menu, null, true);
+    }
+
+    @Test
+    void getTodayMenuSerialized_shouldMatchApiResponseSerialization() throws Exception {
+        when(menuStore.findByDate(monday)).thenReturn(Optional.of(mondayMenu));
+
+        byte[] json = menuService.getTodayMenuSerialized(monday, MenuFormat.JSON).body();
+
+        assertThat(json).isEqualTo(objectMapper.writeValueAsBytes(ApiResponse.success(uncrawled(mondayMenu))));
+    }
+
+    @Test
+    void getTodayMenuSerialized_shouldEncodeSameResponseInBinaryFormats() throws Exception {
+        when(menuStore.findByDate(monday)).thenReturn(Optional.of(mondayMenu));
+        JsonNode json = objectMapper.readTree(menuService.getTodayMenuSerialized(monday, MenuFormat.JSON).body());
+
+        for (MenuFormat format : List.of(MenuFormat.CBOR, MenuFormat.SMILE)) {
+            SerializedResponse response = menuService.getTodayMenuSerialized(monday, format);
+
+            assertThat(format.mapperFrom(objectMapper).readTree(response.body())).isEqualTo(json);
+            assertThat(response.body().length).isLessThan(menuService.getTodayMenuSerialized(monday, MenuFormat.JSON).body().length);
+            assertThat(menuService.getTodayMenuSerialized(monday, format)).isSameAs(response);
+        }
+    }
+
+    @Test
+    void getTodayMenuSerialized_shouldReuseBytesUntilVersionChanges() {
+        when(menuStore.findByDate(monday)).thenReturn(Optional.of(mondayMenu));
+        when(menuStore.version()).thenReturn(1L);
+
+        byte[] first = menuService.getTodayMenuSerialized(monday, MenuFormat.JSON).body();
+        byte[] second = menuService.getTodayMenuSerialized(monday, MenuFormat.JSON).body();
+        assertThat(second).isSameAs(first);
+        verify(menuStore, times(1)).findByDate(monday);
+
+        when(menuStore.version()).thenReturn(2L);
+        byte[] third = menuService.getTodayMenuSerialized(monday, MenuFormat.JSON).body();
+        assertThat(third).isNotSameAs(first).isEqualTo(first);
+        verify(menuStore, times(2)).findByDate(monday);
+    }
+
+    @Test
+    void getTodayMenuSerialized_etagShouldFollowVersionFormatAndDateOnly() {
+        when(menuStore.findByDate(monday)).thenReturn(Optional.of(mondayMenu));
+        when(menuStore.findByDates(any())).thenReturn(List.of(mondayMenu));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+        SerializedResponse uncrawled = menuService.getTodayMenuSerialized(monday, MenuFormat.JSON);
+
+        menuService.crawl();
+        SerializedResponse crawled = menuService.getTodayMenuSerialized(monday, MenuFormat.JSON);
+
+        assertThat(crawled.body()).isNotEqualTo(uncrawled.body());
+        assertThat(crawled.etag()).isEqualTo(uncrawled.etag());
+        assertThat(menuService.getTodayMenuSerialized(monday, MenuFormat.CBOR).etag()).isNotEqualTo(crawled.etag());
+        assertThat(menuService.getTodayMenuSerialized(monday.plusDays(5), MenuFormat.JSON).etag()).isNotEqualTo(crawled.etag());
+        when(menuStore.version()).thenReturn(1L);
+        assertThat(menuService.getTodayMenuSerialized(monday, MenuFormat.JSON).etag()).isNotEqualTo(crawled.etag());
+    }
+
+    @Test
+    void init_shouldRestoreLastCrawlOnPopulatedStore() {
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+        menuService.crawl();
+        // up to date as of the clock, so startup does not crawl again
+        Menu tuesdayMenu = new Menu(monday.plusDays(1), List.of("a", "b", "c"));
+        when(menuStore.findRangeDescending(monday.plusDays(1), LocalDate.MAX, 1)).thenReturn(List.of(tuesdayMenu));
+        when(menuStore.findByDate(monday)).thenReturn(Optional.of(mondayMenu));
+
+        MenuService restarted = newService(CrawlConfigFixture.defaults(),
+                Clock.fixed(mondayNoon.plus(Duration.ofHours(1)), zone));
+        restarted.init();
+
+        MenuResponse response = restarted.getTodayMenu(monday);
+        assertThat(response.crawledAt()).isEqualTo(mondayNoon);
+        assertThat(response.stale()).isFalse();
+        assertThat(restarted.getTodayMenuSerialized(monday, MenuFormat.JSON).lastModified()).isEqualTo(mondayNoon);
+        verify(menuCrawler, times(1)).crawlMenus(any(), any());
+    }
+
+    @Test
+    void init_shouldCrawlWhenNothingIsStoredAfterToday() {
+        when(menuStore.findRangeDescending(monday.plusDays(1), LocalDate.MAX, 1)).thenReturn(List.of());
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+
+        menuService.init();
+
+        verify(menuCrawler).crawlMenus(any(), any());
+    }
+
+    @Test
+    void getTodayMenuSerialized_shouldRebuildOnNewDate() {
+        when(menuStore.findByDate(monday)).thenReturn(Optional.of(mondayMenu));
+        LocalDate saturday = monday.plusDays(5);
+
+        byte[] weekday = menuService.getTodayMenuSerialized(monday, MenuFormat.JSON).body();
+        byte[] weekend = menuService.getTodayMenuSerialized(saturday, MenuFormat.JSON).body();
+
+        assertThat(new String(weekend)).contains("주말에는 도시락이 없습니다.");
+        assertThat(weekend).isNotEqualTo(weekday);
+    }
+
+    @Test
+    void findAllSerialized_shouldReuseBytesUntilVersionChanges() throws Exception {
+        when(menuStore.findAll()).thenReturn(List.of(mondayMenu));
+
+        byte[] first = menuService.findAllSerialized(MenuFormat.JSON).body();
+        assertThat(menuService.findAllSerialized(MenuFormat.JSON).body()).isSameAs(first);
+        assertThat(first).isEqualTo(objectMapper.writeValueAsBytes(ApiResponse.success(List.of(uncrawled(mondayMenu)))));
+
+        when(menuStore.version()).thenReturn(1L);
+        menuService.findAllSerialized(MenuFormat.JSON).body();
+        verify(menuStore, times(2)).findAll();
+    }
+
+    @Test
+    void lastModified_shouldBeLastCrawlForCrawledVersion() {
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+        when(menuStore.version()).thenReturn(3L);
+        menuService.crawl();
+
+        assertThat(menuService.findAllSerialized(MenuFormat.JSON).lastModified()).isEqualTo(mondayNoon);
+    }
+
+    @Test
+    void lastModified_shouldNotPrecedeToday() {
+        LocalDate tuesday = monday.plusDays(1);
+        when(menuStore.findByDate(tuesday)).thenReturn(Optional.of(new Menu(tuesday, List.of("a", "b", "c"))));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+        menuService.crawl();
+
+        assertThat(menuService.getTodayMenuSerialized(tuesday, MenuFormat.JSON).lastModified())
+                .isEqualTo(tuesday.atStartOfDay(zone).toInstant());
+    }
+
+    @Test
+    void findAllSerialized_shouldKeepGzipVariant() throws Exception {
+        List<Menu> history = IntStream.range(0, 100)
+                .mapToObj(i -> new Menu(monday.minusDays(i), List.of("쌀밥", "김치찌개", "제육볶음", "배추김치")))
+                .toList();
+        when(menuStore.findAll()).thenReturn(history);
+
+        SerializedResponse response = menuService.findAllSerialized(MenuFormat.JSON);
+
+        assertThat(response.gzipBody()).hasSizeLessThan(response.body().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.gzipBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(response.body());
+        }
+    }
+
+    @Test
+    void findPage_shouldScanOneExtraRowForNextCursor() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        Menu friday = new Menu(monday.minusDays(3), List.of("a", "b", "c"));
+        Menu thursday = new Menu(monday.minusDays(4), List.of("d", "e", "f"));
+        when(menuStore.findRangeDescending(from, monday, 3)).thenReturn(List.of(mondayMenu, friday, thursday));
+
+        MenuPage page = menuService.findPage(from, monday, 2, null);
+
+        assertThat(page.menus()).containsExactly(uncrawled(mondayMenu), uncrawled(friday));
+        assertThat(page.nextCursor()).isNotNull();
+
+        when(menuStore.findRangeDescending(from, friday.getDate().minusDays(1), 3)).thenReturn(List.of(thursday));
+        MenuPage next = menuService.findPage(from, monday, 2, page.nextCursor());
+
+        assertThat(next.menus()).containsExactly(uncrawled(thursday));
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_shouldRejectBadQueries() {
+        assertThatThrownBy(() -> menuService.findPage(null, null, 0, null)).isInstanceOf(InvalidMenuQueryException.class);
+        assertThatThrownBy(() -> menuService.findPage(monday, monday.minusDays(1), null, null)).isInstanceOf(InvalidMenuQueryException.class);
+        assertThatThrownBy(() -> menuService.findPage(null, null, null, "not a cursor")).isInstanceOf(InvalidMenuQueryException.class);
+    }
+
+    @Test
+    void findPage_shouldCapLimit() {
+        when(menuStore.findRangeDescending(LocalDate.MIN, LocalDate.MAX, MenuService.MAX_PAGE_SIZE + 1)).thenReturn(List.of());
+
+        assertThat(menuService.findPage(null, null, 100_000, null).menus()).isEmpty();
+    }
+
+    @Test
+    void findWeek_shouldScanMondayToSunday() {
+        when(menuStore.findRange(monday, monday.plusDays(6))).thenReturn(List.of(mondayMenu));
+
+        assertThat(menuService.findWeek(monday.plusDays(3))).containsExactly(uncrawled(mondayMenu));
+    }
+
+    @Test
+    void findByDates_shouldReportStatusPerDateInRequestOrder() {
+        LocalDate pastMiss = monday.minusDays(7);
+        LocalDate saturday = monday.plusDays(5);
+        when(menuStore.findByDates(List.of(monday, pastMiss))).thenReturn(List.of(mondayMenu));
+
+        List<MenuLookup> lookups = menuService.findByDates(List.of(monday, saturday, pastMiss, monday));
+
+        assertThat(lookups).containsExactly(
+                new MenuLookup("2025-03-31", MenuLookup.Status.FOUND, uncrawled(mondayMenu)),
+                new MenuLookup("2025-04-05", MenuLookup.Status.WEEKEND, null),
+                new MenuLookup("2025-03-24", MenuLookup.Status.NOT_UPLOADED, null));
+        verifyNoInteractions(menuCrawler);
+    }
+
+    @Test
+    void findByDates_shouldCrawlOnceForUpcomingMisses() {
+        LocalDate tuesday = monday.plusDays(1);
+        LocalDate wednesday = monday.plusDays(2);
+        Menu tuesdayMenu = new Menu(tuesday, List.of("a", "b", "c"));
+        when(menuStore.findByDates(List.of(tuesday, wednesday))).thenReturn(List.of()).thenReturn(List.of(tuesdayMenu));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(tuesdayMenu));
+
+        List<MenuLookup> lookups = menuService.findByDates(List.of(tuesday, wednesday));
+
+        assertThat(lookups).extracting(MenuLookup::status)
+                .containsExactly(MenuLookup.Status.FOUND, MenuLookup.Status.NOT_UPLOADED);
+        verify(menuCrawler, times(1)).crawlMenus(any(), any());
+    }
+
+    @Test
+    void findByDates_shouldRejectOversizedBatch() {
+        List<LocalDate> dates = IntStream.range(0, MenuService.MAX_BATCH_SIZE + 1).mapToObj(monday::plusDays).toList();
+
+        assertThatThrownBy(() -> menuService.findByDates(dates)).isInstanceOf(InvalidMenuQueryException.class);
+    }
+
+    @Test
+    void crawl_shouldShareOneInFlightCrawl() throws Exception {
+        // a joiner that only gets scheduled after the crawl is skipped by the interval, so the count stays exact
+        menuService = newService(CrawlConfigFixture.builder().minInterval(Duration.ofMinutes(1)).build(), Clock.fixed(mondayNoon, zone));
+        CountDownLatch crawling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(menuCrawler.crawlMenus(any(), any())).thenAnswer(invocation -> {
+            crawling.countDown();
+            release.await();
+            return List.of(mondayMenu);
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> leader = executor.submit(() -> menuService.crawl());
+            crawling.await();
+            List<Future<?>> joiners = IntStream.range(0, 10)
+                    .<Future<?>>mapToObj(i -> executor.submit(() -> menuService.crawl()))
+                    .toList();
+            Thread.sleep(100);
+            release.countDown();
+
+            leader.get();
+            for (Future<?> joiner : joiners) {
+                joiner.get();
+            }
+        }
+        verify(menuCrawler, times(1)).crawlMenus(any(), any());
+    }
+
+    @Test
+    void crawl_shouldPropagateFailureToJoiners() throws Exception {
+        CountDownLatch crawling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(menuCrawler.crawlMenus(any(), any())).thenAnswer(invocation -> {
+            crawling.countDown();
+            release.await();
+            throw new IllegalStateException("site down");
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> leader = executor.submit(() -> menuService.crawl());
+            crawling.await();
+            Future<?> joiner = executor.submit(() -> menuService.crawl());
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThatThrownBy(leader::get).hasRootCauseMessage("site down");
+            assertThatThrownBy(joiner::get).hasRootCauseMessage("site down");
+        }
+    }
+
+    @Test
+    void crawl_shouldRespectMinInterval() {
+        menuService = newService(CrawlConfigFixture.builder().minInterval(Duration.ofMinutes(1)).build(), Clock.fixed(mondayNoon, zone));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+
+        menuService.crawl();
+        menuService.crawl();
+
+        verify(menuCrawler, times(1)).crawlMenus(any(), any());
+    }
+
+    @Test
+    void crawl_shouldRunAgainWithoutMinInterval() {
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+
+        menuService.crawl();
+        menuService.crawl();
+
+        verify(menuCrawler, times(2)).crawlMenus(any(), any());
+    }
+
+    @Test
+    void getTodayMenu_shouldFailFastWhileMissIsBackingOff() {
+        when(menuStore.findByDate(monday)).thenReturn(Optional.empty());
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> menuService.getTodayMenu(monday)).isInstanceOf(MenuNotUploadedException.class);
+        assertThatThrownBy(() -> menuService.getTodayMenu(monday)).isInstanceOf(MenuNotUploadedException.class);
+
+        verify(menuCrawler, times(1)).crawlMenus(any(), any());
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), eq(mondayNoon.plus(Duration.ofMinutes(1))));
+    }
+
+    @Test
+    void retryMissing_shouldBackOffUntilMenuAppears() {
+        TestClock clock = new TestClock(mondayNoon, zone);
+        menuService = newService(CrawlConfigFixture.defaults(), clock);
+        when(menuStore.findByDate(monday)).thenReturn(Optional.empty());
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of());
+        assertThatThrownBy(() -> menuService.getTodayMenu(monday)).isInstanceOf(MenuNotUploadedException.class);
+
+        clock.instant = mondayNoon.plus(Duration.ofMinutes(1));
+        menuService.retryMissing(monday);
+        verify(taskScheduler).schedule(any(Runnable.class), eq(clock.instant.plus(Duration.ofMinutes(2))));
+
+        clock.instant = clock.instant.plus(Duration.ofMinutes(2));
+        when(menuStore.findByDate(monday)).thenReturn(Optional.empty(), Optional.of(mondayMenu));
+        menuService.retryMissing(monday);
+        verify(menuCrawler, times(3)).crawlMenus(any(), any());
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void staleWhileRevalidate_shouldServeStoredDataAndRefreshInBackground() {
+        menuService = newService(CrawlConfigFixture.builder()
+                .minInterval(Duration.ofMinutes(1)).ttl(Duration.ofHours(6)).staleWhileRevalidate().build(), Clock.fixed(mondayNoon, zone));
+        when(menuStore.findByDate(monday)).thenReturn(Optional.of(mondayMenu));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+
+        assertThat(menuService.getTodayMenu(monday)).isEqualTo(uncrawled(mondayMenu));
+        assertThat(menuService.getTodayMenu(monday).stale()).isTrue();
+        verifyNoInteractions(menuCrawler);
+
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(refresh.capture(), eq(mondayNoon));
+        refresh.getValue().run();
+
+        assertThat(menuService.getTodayMenu(monday)).isEqualTo(MenuResponse.of(mondayMenu, mondayNoon, false));
+        verify(menuCrawler, times(1)).crawlMenus(any(), any());
+    }
+
+    @Test
+    void staleWhileRevalidate_shouldNotCrawlOnMiss() {
+        menuService = newService(CrawlConfigFixture.builder()
+                .minInterval(Duration.ofMinutes(1)).ttl(Duration.ofHours(6)).staleWhileRevalidate().build(), Clock.fixed(mondayNoon, zone));
+        when(menuStore.findByDate(monday)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> menuService.getTodayMenu(monday)).isInstanceOf(MenuNotUploadedException.class);
+        assertThatThrownBy(() -> menuService.getTodayMenu(monday)).isInstanceOf(MenuNotUploadedException.class);
+
+        verifyNoInteractions(menuCrawler);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void freshness_shouldMarkDataOlderThanTtlStale() {
+        TestClock clock = new TestClock(mondayNoon, zone);
+        menuService = newService(CrawlConfigFixture.builder().ttl(Duration.ofHours(1)).build(), clock);
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of());
+        when(menuStore.findByDate(monday)).thenReturn(Optional.of(mondayMenu));
+        menuService.crawl();
+
+        assertThat(menuService.getTodayMenu(monday).stale()).isFalse();
+        clock.instant = mondayNoon.plus(Duration.ofMinutes(61));
+        assertThat(menuService.getTodayMenu(monday)).isEqualTo(MenuResponse.of(mondayMenu, mondayNoon, true));
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    void crawl_shouldSaveAndPublishOnlyChangedMenus() {
+        Menu tuesdayMenu = new Menu(monday.plusDays(1), List.of("a", "b", "c"));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu, tuesdayMenu));
+        when(menuStore.findByDates(List.of(monday, tuesdayMenu.getDate()))).thenReturn(List.of(mondayMenu));
+        when(menuStore.version()).thenReturn(7L);
+
+        menuService.crawl();
+
+        verify(menuStore).saveAll(List.of(tuesdayMenu));
+        verify(broadcaster).publish(List.of(tuesdayMenu), mondayNoon, 7L);
+    }
+
+    @Test
+    void crawl_shouldReportEveryPhaseToListener() {
+        Menu tuesdayMenu = new Menu(monday.plusDays(1), List.of("a", "b", "c"));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu, tuesdayMenu));
+        when(menuStore.findByDates(any())).thenReturn(List.of(mondayMenu));
+        CrawlListener listener = mock(CrawlListener.class);
+
+        menuService.crawl(listener).join();
+
+        verify(menuCrawler).crawlMenus(any(), eq(listener));
+        verify(listener).persisted(any(), eq(1));
+        verify(listener, never()).skipped(any());
+    }
+
+    @Test
+    void crawl_shouldReportSkipWithinMinInterval() {
+        menuService = newService(CrawlConfigFixture.builder().minInterval(Duration.ofMinutes(1)).build(), Clock.fixed(mondayNoon, zone));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of());
+        menuService.crawl();
+        CrawlListener listener = mock(CrawlListener.class);
+
+        menuService.crawl(listener);
+
+        verify(listener).skipped(mondayNoon);
+        verify(menuCrawler, times(1)).crawlMenus(any(), any());
+    }
+
+    @Test
+    void crawl_shouldFailDurabilityWhenChangedMenusCannotBeWritten() {
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+        when(menuStore.saveAll(any())).thenReturn(CompletableFuture.failedFuture(new IOException("disk full")));
+        CrawlListener listener = mock(CrawlListener.class);
+
+        CompletableFuture<Void> durable = menuService.crawl(listener);
+
+        assertThatThrownBy(durable::join)
+                .hasCauseInstanceOf(MenuStoreException.class)
+                .hasMessageContaining("disk full");
+        verify(menuCrawler).forget(any());
+        verify(listener, never()).persisted(any(), anyInt());
+    }
+
+    @Test
+    void crawl_shouldNotWaitForTheWrite() {
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(mondayMenu));
+        CompletableFuture<Void> write = new CompletableFuture<>();
+        when(menuStore.saveAll(any())).thenReturn(write);
+
+        menuService.crawl();
+
+        verify(menuStore).saveAll(List.of(mondayMenu));
+        assertThat(write).isNotDone();
+    }
+
+    @Test
+    void crawl_shouldReadMonthsAroundCurrentOneWhenMonthUrlIsSet() {
+        CrawlConfig monthConfig = CrawlConfigFixture.builder().monthPages(1, 4).build();
+        menuService = newService(monthConfig, Clock.fixed(mondayNoon, zone));
+        when(menuCrawler.crawlMonths(any(), any(), any())).thenReturn(List.of(mondayMenu));
+
+        menuService.crawl();
+
+        verify(menuCrawler).crawlMonths(eq(monthConfig),
+                eq(List.of(YearMonth.of(2025, 2), YearMonth.of(2025, 3), YearMonth.of(2025, 4))), any());
+        verify(menuCrawler, never()).crawlMenus(any(), any());
+        verify(menuStore).saveAll(List.of(mondayMenu));
+    }
+
+    static class TestClock extends Clock {
+        Instant instant;
+        final ZoneId zone;
+
+        TestClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new TestClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+}
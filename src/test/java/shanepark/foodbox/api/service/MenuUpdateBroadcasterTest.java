@@ -0,0 +1,79 @@
+package shanepark.foodbox.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import shanepark.foodbox.api.controller.MenuApiController;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class MenuUpdateBroadcasterTest {
+
+    MenuUpdateBroadcaster broadcaster = new MenuUpdateBroadcaster(
+            new ObjectMapper().registerModule(new JavaTimeModule()), Runnable::run);
+    MockMvc mockMvc;
+
+    Menu menu = new Menu(LocalDate.of(2025, 3, 31), List.of("김치찌개", "된장찌개", "제육볶음"));
+    Instant crawledAt = Instant.parse("2025-03-31T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        MenuApiController controller = new MenuApiController(mock(MenuService.class), broadcaster, Clock.systemDefaultZone());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void publish_shouldPushOneEventToEverySubscriber() throws Exception {
+        MvcResult first = subscribe();
+        MvcResult second = subscribe();
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+
+        broadcaster.publish(List.of(menu), crawledAt, 3);
+
+        for (MvcResult result : List.of(first, second)) {
+            String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+            assertThat(body).startsWith(":connected\n");
+            assertThat(body).contains("id:3\nevent:menu\ndata:{\"status\":200,\"error\":null,\"data\":[{\"date\":\"2025-03-31\"");
+            assertThat(body).contains("\"crawledAt\":\"2025-03-31T00:00:00Z\",\"stale\":false}]}\n\n");
+        }
+    }
+
+    @Test
+    void publish_shouldSkipEmptyChanges() throws Exception {
+        MvcResult result = subscribe();
+
+        broadcaster.publish(List.of(), crawledAt, 3);
+
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("event:menu");
+    }
+
+    @Test
+    void heartbeat_shouldSendComment() throws Exception {
+        MvcResult result = subscribe();
+
+        broadcaster.heartbeat();
+
+        assertThat(result.getResponse().getContentAsString()).endsWith(":ping\n\n");
+    }
+
+    private MvcResult subscribe() throws Exception {
+        return mockMvc.perform(get("/api/menu/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+}
@@ -0,0 +1,53 @@
+package shanepark.foodbox.api.service;
+
+import org.junit.jupiter.api.Test;
+import shanepark.foodbox.crawl.CrawlConfigFixture;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MissingMenuCacheTest {
+
+    MissingMenuCache cache = new MissingMenuCache(
+            CrawlConfigFixture.builder()
+                    .retryDelays(Duration.ofMinutes(1), Duration.ofMinutes(5)).build());
+    LocalDate date = LocalDate.of(2025, 3, 31);
+    Instant now = Instant.parse("2025-03-31T03:00:00Z");
+
+    @Test
+    void recordMiss_shouldOpenOneWindowPerExpiry() {
+        MissingMenuCache.Miss first = cache.recordMiss(date, now);
+
+        assertThat(first.attempts()).isEqualTo(1);
+        assertThat(first.retryAt()).isEqualTo(now.plus(Duration.ofMinutes(1)));
+        assertThat(cache.recordMiss(date, now.plusSeconds(30))).isNull();
+        assertThat(cache.isBackingOff(date, now.plusSeconds(59))).isTrue();
+        assertThat(cache.isBackingOff(date, first.retryAt())).isFalse();
+
+        MissingMenuCache.Miss second = cache.recordMiss(date, first.retryAt());
+        assertThat(second.attempts()).isEqualTo(2);
+        assertThat(second.retryAt()).isEqualTo(first.retryAt().plus(Duration.ofMinutes(2)));
+    }
+
+    @Test
+    void delay_shouldDoubleUpToMax() {
+        assertThat(cache.delay(1)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(cache.delay(2)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(cache.delay(3)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(cache.delay(4)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(cache.delay(100)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void clear_shouldEndBackoff() {
+        cache.recordMiss(date, now);
+        cache.clear(date);
+
+        assertThat(cache.isBackingOff(date, now)).isFalse();
+        assertThat(cache.recordMiss(date, now).attempts()).isEqualTo(1);
+    }
+
+}
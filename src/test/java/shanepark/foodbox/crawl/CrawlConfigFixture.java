@@ -0,0 +1,70 @@
+package shanepark.foodbox.crawl;
+
+import java.time.Duration;
+
+/**
+ * Builds {@link CrawlConfig}s for tests. Anything not set is left to the defaults of the binding constructor,
+ * and the crawl URL is {@value #CRAWL_URL}.
+ */
+public final class CrawlConfigFixture {
+
+    public static final String CRAWL_URL = "http://test-url.com";
+    public static final String MONTH_URL = "http://test-url.com/menu?y={year}&m={month}";
+
+    private Duration minInterval;
+    private Duration retryInitialDelay;
+    private Duration retryMaxDelay;
+    private Duration ttl;
+    private boolean staleWhileRevalidate;
+    private String monthUrl;
+    private Integer monthsAround;
+    private Integer parallelism;
+
+    private CrawlConfigFixture() {
+    }
+
+    public static CrawlConfigFixture builder() {
+        return new CrawlConfigFixture();
+    }
+
+    public static CrawlConfig defaults() {
+        return builder().build();
+    }
+
+    public CrawlConfigFixture minInterval(Duration minInterval) {
+        this.minInterval = minInterval;
+        return this;
+    }
+
+    public CrawlConfigFixture retryDelays(Duration initial, Duration max) {
+        this.retryInitialDelay = initial;
+        this.retryMaxDelay = max;
+        return this;
+    }
+
+    public CrawlConfigFixture ttl(Duration ttl) {
+        this.ttl = ttl;
+        return this;
+    }
+
+    public CrawlConfigFixture staleWhileRevalidate() {
+        this.staleWhileRevalidate = true;
+        return this;
+    }
+
+    /**
+     * Reads months from {@value #MONTH_URL}.
+     */
+    public CrawlConfigFixture monthPages(int monthsAround, int parallelism) {
+        this.monthUrl = MONTH_URL;
+        this.monthsAround = monthsAround;
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public CrawlConfig build() {
+        return new CrawlConfig(CRAWL_URL, minInterval, retryInitialDelay, retryMaxDelay, ttl, staleWhileRevalidate,
+                monthUrl, monthsAround, parallelism);
+    }
+
+}
@@ -0,0 +1,128 @@
+package shanepark.foodbox.crawl;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import shanepark.foodbox.api.domain.Menu;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated and time per extraction of the menus from an already parsed month page: the
+ * {@code select()}-per-cell extraction {@link MenuCrawler} used to do against its single-pass one. Measured on
+ * the {@code 202508.html} fixture and on a synthetic page carrying its calendar {@value #SYNTHETIC_COPIES} times.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class MenuCrawlerParseBenchmarkTest {
+
+    private static final int SYNTHETIC_COPIES = 50;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final MenuCrawler menuCrawler = new MenuCrawler();
+
+    @Test
+    void singlePassShouldBeatSelectsOnFixture() throws IOException {
+        Document document = Jsoup.parse(fixture());
+
+        compare("202508.html", document, 20_000);
+    }
+
+    @Test
+    void singlePassShouldBeatSelectsOnLargePage() throws IOException {
+        String html = fixture();
+        int tableStart = html.indexOf("<table>");
+        int tableEnd = html.indexOf("</table>") + "</table>".length();
+        String table = html.substring(tableStart, tableEnd);
+        Document document = Jsoup.parse(html.substring(0, tableStart) + table.repeat(SYNTHETIC_COPIES)
+                + html.substring(tableEnd));
+
+        compare(SYNTHETIC_COPIES + "x calendar", document, 400);
+    }
+
+    private void compare(String page, Document document, int rounds) {
+        List<Menu> expected = selectEveryCell(document);
+        assertThat(menuCrawler.extractMenusFromDocument(document)).isEqualTo(expected);
+
+        Result selects = measure(document, rounds, MenuCrawlerParseBenchmarkTest::selectEveryCell);
+        Result singlePass = measure(document, rounds, menuCrawler::extractMenusFromDocument);
+
+        System.out.printf("%-16s select per cell %,10d bytes  %,10d ns  (%d menus)%n",
+                page, selects.bytes, selects.nanos, expected.size());
+        System.out.printf("%-16s single pass     %,10d bytes  %,10d ns%n", page, singlePass.bytes, singlePass.nanos);
+        assertThat(singlePass.bytes).isLessThan(selects.bytes);
+        assertThat(singlePass.nanos).isLessThan(selects.nanos);
+    }
+
+    private record Result(long bytes, long nanos) {
+    }
+
+    private Result measure(Document document, int rounds, Function<Document, List<Menu>> extract) {
+        for (int i = 0; i < rounds; i++) {
+            extract.apply(document);
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            extract.apply(document);
+        }
+        long nanos = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(allocated / rounds, nanos / rounds);
+    }
+
+    private static String fixture() throws IOException {
+        return new ClassPathResource("202508.html").getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The extraction this benchmark compares against, trimmed of its logging.
+     */
+    private static List<Menu> selectEveryCell(Document document) {
+        List<Menu> menus = new ArrayList<>();
+        Element monthHeader = document.selectFirst("div.hgroup strong");
+        String[] parts = monthHeader.text().split("[년월\\s]+");
+        int year = Integer.parseInt(parts[0]);
+        int month = Integer.parseInt(parts[1]);
+
+        for (Element cell : document.select("td.info")) {
+            Element dayElement = cell.selectFirst("span.dayy");
+            if (dayElement == null) {
+                continue;
+            }
+            int day = Integer.parseInt(dayElement.text().replace("일", ""));
+            List<String> menuItems = new ArrayList<>();
+            for (Element li : cell.select("li")) {
+                List<Element> pTags = li.select("p");
+                if (!pTags.isEmpty()) {
+                    for (Element p : pTags) {
+                        String menuItem = p.text().trim();
+                        if (!menuItem.isEmpty()) {
+                            menuItems.add(menuItem);
+                        }
+                    }
+                    continue;
+                }
+                String menuItem = li.text().trim();
+                if (!menuItem.isEmpty()) {
+                    menuItems.add(menuItem);
+                }
+            }
+            menus.add(new Menu(LocalDate.of(year, month, day), menuItems));
+        }
+        return menus;
+    }
+
+}
@@ -1,5 +1,7 @@
 package shanepark.foodbox.crawl;
 
+import org.jsoup.Connection;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,19 +10,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import shanepark.foodbox.api.domain.Menu;
 import shanepark.foodbox.api.exception.ImageCrawlException;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,7 +40,7 @@ class MenuCrawlerTest {
     @BeforeEach
     void setUp() throws IOException {
         menuCrawler = new MenuCrawler();
-        crawlConfig = new CrawlConfig("http://test-url.com");
+        crawlConfig = CrawlConfigFixture.defaults();
         ClassPathResource resource = new ClassPathResource("202508.html");
         sampleHtml = resource.getContentAsString(StandardCharsets.UTF_8);
     }
@@ -43,9 +50,7 @@ class MenuCrawlerTest {
         Document mockDocument = Jsoup.parse(sampleHtml);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(mockDocument);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(mockDocument));
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
@@ -102,9 +107,7 @@ class MenuCrawlerTest {
         Document mockDocument = Jsoup.parse(sampleHtml);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(mockDocument);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(mockDocument));
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
@@ -124,9 +127,7 @@ class MenuCrawlerTest {
         Document mockDocument = Jsoup.parse(sampleHtml);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(mockDocument);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(mockDocument));
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
@@ -151,9 +152,7 @@ class MenuCrawlerTest {
         Document mockDocument = Jsoup.parse(sampleHtml);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(mockDocument);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(mockDocument));
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
@@ -170,9 +169,9 @@ class MenuCrawlerTest {
     @Test
     void crawlMenus_shouldHandleIOException() throws IOException {
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
+            Connection connection = mock(Connection.class, RETURNS_SELF);
             jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenThrow(new IOException("Connection failed"));
+            when(connection.execute()).thenThrow(new IOException("Connection failed"));
 
             assertThatThrownBy(() -> menuCrawler.crawlMenus(crawlConfig))
                     .isInstanceOf(ImageCrawlException.class)
@@ -187,9 +186,7 @@ class MenuCrawlerTest {
         Document emptyDocument = Jsoup.parse(emptyHtml);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(emptyDocument);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(emptyDocument));
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
@@ -215,9 +212,7 @@ class MenuCrawlerTest {
         Document invalidDocument = Jsoup.parse(invalidDateHtml);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(invalidDocument);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(invalidDocument));
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
@@ -242,9 +237,7 @@ class MenuCrawlerTest {
         Document documentWithoutDay = Jsoup.parse(htmlWithoutDay);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(documentWithoutDay);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(documentWithoutDay));
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
@@ -270,9 +263,7 @@ class MenuCrawlerTest {
         Document documentWithEmptyMenu = Jsoup.parse(htmlWithEmptyMenu);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(documentWithEmptyMenu);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(documentWithEmptyMenu));
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
@@ -298,14 +289,218 @@ class MenuCrawlerTest {
         Document documentWithInvalidDay = Jsoup.parse(htmlWithInvalidDay);
 
         try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
-            org.jsoup.Connection connection = mock(org.jsoup.Connection.class);
-            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
-            when(connection.get()).thenReturn(documentWithInvalidDay);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(documentWithInvalidDay));
+
+            List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
+
+            assertThat(menus).isEmpty();
+        }
+    }
+
+    @Test
+    void crawlMenus_shouldReadCellsAboveMonthHeader() throws IOException {
+        String htmlWithHeaderBelow = """
+                <html>
+                <body>
+                    <table><tr>
+                        <td class="info">
+                            <span class="dayy">4일</span>
+                            <li><p>돈육간장불고기</p><p> </p><p>맑은콩나물국</p></li>
+                            <li>포기김치</li>
+                        </td>
+                    </tr></table>
+                    <div class="hgroup">
+                        <strong>2025년 08월</strong>
+                    </div>
+                </body>
+                </html>
+                """;
+
+        try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(Jsoup.parse(htmlWithHeaderBelow)));
+
+            List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
+
+            assertThat(menus).hasSize(1);
+            assertThat(menus.get(0).getDate()).isEqualTo(LocalDate.of(2025, 8, 4));
+            assertThat(menus.get(0).getMenus()).containsExactly("돈육간장불고기", "맑은콩나물국", "포기김치");
+        }
+    }
+
+    @Test
+    void crawlMenus_shouldSendValidatorsOfLastFetch() throws IOException {
+        Document document = Jsoup.parse(sampleHtml);
+
+        try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
+            Connection first = connectionReturning(document, "\"v1\"", "Fri, 01 Aug 2025 00:00:00 GMT");
+            Connection second = notModified();
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(first, second);
+
+            assertThat(menuCrawler.crawlMenus(crawlConfig)).hasSize(11);
+            List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
+
+            assertThat(menus).isEmpty();
+            verify(first, never()).header(eq(HttpHeaders.IF_NONE_MATCH), anyString());
+            verify(second).header(HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+            verify(second).header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Aug 2025 00:00:00 GMT");
+        }
+    }
+
+    @Test
+    void crawlMenus_shouldSkipParsingWhenNotModified() throws IOException {
+        Document document = Jsoup.parse(sampleHtml);
+        CrawlListener listener = mock(CrawlListener.class);
+
+        try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
+            Connection notModified = notModified();
+            jsoupMock.when(() -> Jsoup.connect(anyString()))
+                    .thenReturn(connectionReturning(document, "\"v1\"", null), notModified);
+            menuCrawler.crawlMenus(crawlConfig);
+
+            List<Menu> menus = menuCrawler.crawlMenus(crawlConfig, listener);
+
+            assertThat(menus).isEmpty();
+            verify(notModified.execute(), never()).parse();
+            verify(listener).unchanged();
+            verify(listener, never()).parsed(any(), anyInt());
+        }
+    }
+
+    @Test
+    void crawlMenus_shouldSkipParsingWhenBodyHashIsUnchanged() throws IOException {
+        Document document = Jsoup.parse(sampleHtml);
+
+        try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
+            Connection again = connectionReturning(document);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connectionReturning(document), again);
+            menuCrawler.crawlMenus(crawlConfig);
 
             List<Menu> menus = menuCrawler.crawlMenus(crawlConfig);
 
             assertThat(menus).isEmpty();
+            verify(again.execute(), never()).parse();
+        }
+    }
+
+    @Test
+    void crawlMenus_shouldParseAgainAfterForget() throws IOException {
+        Document document = Jsoup.parse(sampleHtml);
+
+        try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
+            Connection again = connectionReturning(document, "\"v1\"", null);
+            jsoupMock.when(() -> Jsoup.connect(anyString()))
+                    .thenReturn(connectionReturning(document, "\"v1\"", null), again);
+            menuCrawler.crawlMenus(crawlConfig);
+
+            menuCrawler.forget(crawlConfig);
+
+            assertThat(menuCrawler.crawlMenus(crawlConfig)).hasSize(11);
+            verify(again, never()).header(eq(HttpHeaders.IF_NONE_MATCH), anyString());
+        }
+    }
+
+    @Test
+    void crawlMenus_shouldFailOnErrorStatus() throws IOException {
+        try (MockedStatic<Jsoup> jsoupMock = mockStatic(Jsoup.class)) {
+            Connection connection = mock(Connection.class, RETURNS_SELF);
+            Connection.Response response = mock(Connection.Response.class);
+            when(connection.execute()).thenReturn(response);
+            when(response.statusCode()).thenReturn(503);
+            jsoupMock.when(() -> Jsoup.connect(anyString())).thenReturn(connection);
+
+            assertThatThrownBy(() -> menuCrawler.crawlMenus(crawlConfig))
+                    .isInstanceOf(ImageCrawlException.class)
+                    .hasCauseInstanceOf(HttpStatusException.class);
         }
     }
 
+    @Test
+    void crawlMonths_shouldFetchEveryMonthAndMergeMenus() throws IOException {
+        CrawlConfig monthConfig = monthConfig();
+        Document july = Jsoup.parse(sampleHtml.replace("2025년 08월", "2025년 07월"));
+        Document august = Jsoup.parse(sampleHtml);
+        MenuCrawler crawler = spy(new MenuCrawler());
+        Connection julyConnection = connectionReturning(july);
+        Connection augustConnection = connectionReturning(august);
+        doReturn(julyConnection).when(crawler).connect("http://test-url.com/menu?y=2025&m=7");
+        doReturn(augustConnection).when(crawler).connect("http://test-url.com/menu?y=2025&m=8");
+        CrawlListener listener = mock(CrawlListener.class);
+
+        List<Menu> menus = crawler.crawlMonths(monthConfig, List.of(YearMonth.of(2025, 7), YearMonth.of(2025, 8)), listener);
+
+        assertThat(menus).hasSize(22);
+        assertThat(menus).extracting(menu -> menu.getDate().getMonthValue()).containsOnly(7, 8);
+        verify(listener).parsed(any(), eq(22));
+        verify(listener, never()).unchanged();
+    }
+
+    @Test
+    void crawlMonths_shouldReturnOnlyChangedMonths() throws IOException {
+        CrawlConfig monthConfig = monthConfig();
+        Document july = Jsoup.parse(sampleHtml.replace("2025년 08월", "2025년 07월"));
+        Document august = Jsoup.parse(sampleHtml);
+        MenuCrawler crawler = spy(new MenuCrawler());
+        doReturn(connectionReturning(july), connectionReturning(july))
+                .when(crawler).connect("http://test-url.com/menu?y=2025&m=7");
+        doReturn(connectionReturning(august), connectionReturning(Jsoup.parse(sampleHtml + "<!-- updated -->")))
+                .when(crawler).connect("http://test-url.com/menu?y=2025&m=8");
+        List<YearMonth> months = List.of(YearMonth.of(2025, 7), YearMonth.of(2025, 8));
+        crawler.crawlMonths(monthConfig, months, CrawlListener.NONE);
+
+        List<Menu> menus = crawler.crawlMonths(monthConfig, months, CrawlListener.NONE);
+
+        assertThat(menus).hasSize(11);
+        assertThat(menus).extracting(menu -> menu.getDate().getMonthValue()).containsOnly(8);
+    }
+
+    @Test
+    void crawlMonth_shouldIgnoreValidatorsOfRegularCrawls() throws IOException {
+        CrawlConfig monthConfig = monthConfig();
+        Document august = Jsoup.parse(sampleHtml);
+        MenuCrawler crawler = spy(new MenuCrawler());
+        Connection again = connectionReturning(august, "\"v1\"", null);
+        doReturn(connectionReturning(august, "\"v1\"", null), again)
+                .when(crawler).connect("http://test-url.com/menu?y=2025&m=8");
+        crawler.crawlMonths(monthConfig, List.of(YearMonth.of(2025, 8)), CrawlListener.NONE);
+
+        List<Menu> menus = crawler.crawlMonth(monthConfig, YearMonth.of(2025, 8));
+
+        assertThat(menus).hasSize(11);
+        verify(again, never()).header(eq(HttpHeaders.IF_NONE_MATCH), anyString());
+    }
+
+    @Test
+    void monthUrl_shouldFillYearAndUnpaddedMonth() {
+        assertThat(monthConfig().monthUrl(YearMonth.of(2025, 7))).isEqualTo("http://test-url.com/menu?y=2025&m=7");
+        assertThat(crawlConfig.monthUrl(YearMonth.of(2025, 7))).isNull();
+    }
+
+    private static CrawlConfig monthConfig() {
+        return CrawlConfigFixture.builder().monthPages(1, 2).build();
+    }
+
+    private static Connection connectionReturning(Document document) throws IOException {
+        return connectionReturning(document, null, null);
+    }
+
+    private static Connection connectionReturning(Document document, String etag, String lastModified) throws IOException {
+        Connection connection = mock(Connection.class, RETURNS_SELF);
+        Connection.Response response = mock(Connection.Response.class);
+        when(connection.execute()).thenReturn(response);
+        lenient().when(response.statusCode()).thenReturn(200);
+        lenient().when(response.bodyAsBytes()).thenReturn(document.outerHtml().getBytes(StandardCharsets.UTF_8));
+        lenient().when(response.parse()).thenReturn(document);
+        lenient().when(response.header(HttpHeaders.ETAG)).thenReturn(etag);
+        lenient().when(response.header(HttpHeaders.LAST_MODIFIED)).thenReturn(lastModified);
+        return connection;
+    }
+
+    private static Connection notModified() throws IOException {
+        Connection connection = mock(Connection.class, RETURNS_SELF);
+        Connection.Response response = mock(Connection.Response.class);
+        when(connection.execute()).thenReturn(response);
+        when(response.statusCode()).thenReturn(304);
+        return connection;
+    }
+
 }
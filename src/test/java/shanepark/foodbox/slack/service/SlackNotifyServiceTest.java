@@ -1,19 +1,33 @@
 package shanepark.foodbox.slack.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import shanepark.foodbox.api.config.ObjectMapperConfig;
+import shanepark.foodbox.api.domain.Menu;
 import shanepark.foodbox.api.domain.MenuResponse;
+import shanepark.foodbox.api.exception.MenuNotUploadedException;
+import shanepark.foodbox.api.repository.MenuRepository;
 import shanepark.foodbox.api.service.MenuService;
+import shanepark.foodbox.api.service.MenuServiceFixture;
+import shanepark.foodbox.api.service.MenuUpdateBroadcaster;
+import shanepark.foodbox.crawl.CrawlConfig;
+import shanepark.foodbox.crawl.CrawlConfigFixture;
+import shanepark.foodbox.crawl.MenuCrawler;
 import shanepark.foodbox.slack.SlackConfig;
 import shanepark.foodbox.slack.domain.dto.SlackPayload;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -21,6 +35,7 @@ import java.time.ZoneId;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -63,7 +78,7 @@ class SlackNotifyServiceTest {
         mockClock(monday);
 
         // When
-        when(menuService.getTodayMenu(monday)).thenReturn(new MenuResponse(LocalDate.of(2024, 11, 8).toString(), List.of("김치찌개", "된장찌개", "제육볶음"), true));
+        when(menuService.fetchTodayMenu(monday)).thenReturn(new MenuResponse(LocalDate.of(2024, 11, 8).toString(), List.of("김치찌개", "된장찌개", "제육볶음"), true));
 
         // Then
         slackNotifyService.notifyTodayMenu();
@@ -73,7 +88,7 @@ class SlackNotifyServiceTest {
     @DisplayName("invalid menu(with no line) should not send message")
     void shouldNotSendMessageWhenMenuIsInvalid() throws IOException, InterruptedException {
         MenuResponse invalidMenu1 = new MenuResponse(LocalDate.now().toString(), List.of(""), false);
-        when(menuService.getTodayMenu(monday)).thenReturn(invalidMenu1);
+        when(menuService.fetchTodayMenu(monday)).thenReturn(invalidMenu1);
         mockClock(monday);
 
         // when
@@ -88,7 +103,7 @@ class SlackNotifyServiceTest {
     void shouldNotSendMessageWhenMenuIsInvalid2() throws IOException, InterruptedException {
         // Given
         MenuResponse invalidMenu1 = new MenuResponse(LocalDate.now().toString(), List.of("oneMenu"), false);
-        when(menuService.getTodayMenu(monday)).thenReturn(invalidMenu1);
+        when(menuService.fetchTodayMenu(monday)).thenReturn(invalidMenu1);
         mockClock(monday);
 
         // when
@@ -103,7 +118,7 @@ class SlackNotifyServiceTest {
     @DisplayName("invalid menu(with 2 lines) should not send message")
     void shouldNotSendMessageWhenMenuIsInvalid3() throws IOException, InterruptedException {
         MenuResponse invalidMenu1 = new MenuResponse(LocalDate.now().toString(), List.of("oneMenu", "twoMenu"), false);
-        when(menuService.getTodayMenu(monday)).thenReturn(invalidMenu1);
+        when(menuService.fetchTodayMenu(monday)).thenReturn(invalidMenu1);
         mockClock(monday);
 
         // when
@@ -117,7 +132,7 @@ class SlackNotifyServiceTest {
     @DisplayName("valid menu(with 3 lines) should send message")
     void shouldNotSendMessageWhenMenuIsInvalid4() throws IOException, InterruptedException {
         MenuResponse validMenu = new MenuResponse(LocalDate.now().toString(), List.of("oneMenu", "twoMenu", "threeMenu"), true);
-        when(menuService.getTodayMenu(monday)).thenReturn(validMenu);
+        when(menuService.fetchTodayMenu(monday)).thenReturn(validMenu);
         mockSlackConfig();
         mockClock(monday);
 
@@ -205,12 +220,12 @@ class SlackNotifyServiceTest {
         mockClock(mon);
 
         // When
-        when(menuService.getTodayMenu(any())).thenReturn(new MenuResponse(LocalDate.now().toString(), List.of("validMenu"), true));
+        when(menuService.fetchTodayMenu(any())).thenReturn(new MenuResponse(LocalDate.now().toString(), List.of("validMenu"), true));
         slackConfigSetup();
         slackNotifyService.notifyTodayMenu();
 
         // Then
-        verify(menuService, only()).getTodayMenu(mon);
+        verify(menuService, only()).fetchTodayMenu(mon);
         verify(slackMessageSender, only()).sendMessage(anyString(), anyString(), any(SlackPayload.class));
     }
 
@@ -222,12 +237,12 @@ class SlackNotifyServiceTest {
         mockClock(tue);
 
         //When
-        when(menuService.getTodayMenu(any())).thenReturn(new MenuResponse(LocalDate.now().toString(), List.of("validMenu"), true));
+        when(menuService.fetchTodayMenu(any())).thenReturn(new MenuResponse(LocalDate.now().toString(), List.of("validMenu"), true));
         slackConfigSetup();
         slackNotifyService.notifyTodayMenu();
 
         // Then
-        verify(menuService, only()).getTodayMenu(tue);
+        verify(menuService, only()).fetchTodayMenu(tue);
         verify(slackMessageSender, only()).sendMessage(anyString(), anyString(), any(SlackPayload.class));
     }
 
@@ -239,12 +254,12 @@ class SlackNotifyServiceTest {
         mockClock(thu);
 
         //When
-        when(menuService.getTodayMenu(any())).thenReturn(new MenuResponse(LocalDate.now().toString(), List.of("validMenu"), true));
+        when(menuService.fetchTodayMenu(any())).thenReturn(new MenuResponse(LocalDate.now().toString(), List.of("validMenu"), true));
         slackConfigSetup();
         slackNotifyService.notifyTodayMenu();
 
         // Then
-        verify(menuService, only()).getTodayMenu(thu);
+        verify(menuService, only()).fetchTodayMenu(thu);
         verify(slackMessageSender, only()).sendMessage(anyString(), anyString(), any(SlackPayload.class));
     }
 
@@ -256,15 +271,74 @@ class SlackNotifyServiceTest {
         mockClock(fri);
 
         //When
-        when(menuService.getTodayMenu(any())).thenReturn(new MenuResponse(LocalDate.now().toString(), List.of("validMenu"), true));
+        when(menuService.fetchTodayMenu(any())).thenReturn(new MenuResponse(LocalDate.now().toString(), List.of("validMenu"), true));
         slackConfigSetup();
         slackNotifyService.notifyTodayMenu();
 
         // Then
-        verify(menuService, only()).getTodayMenu(fri);
+        verify(menuService, only()).fetchTodayMenu(fri);
         verify(slackMessageSender, only()).sendMessage(anyString(), anyString(), any(SlackPayload.class));
     }
 
+    @Test
+    @DisplayName("A backoff window opened by an API miss must not stop the morning notification")
+    void shouldCrawlThroughBackoffWindow(@TempDir File dir) throws IOException, InterruptedException {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapperConfig().mapper();
+        File dbFile = new File(dir, "db.json");
+        Files.writeString(dbFile.toPath(), "[]");
+        MenuRepository menuStore = new MenuRepository(dbFile, objectMapper);
+        menuStore.init();
+        MenuCrawler menuCrawler = mock(MenuCrawler.class);
+        Menu mondayMenu = new Menu(monday, List.of("김치찌개", "된장찌개", "제육볶음"));
+        when(menuCrawler.crawlMenus(any(), any())).thenReturn(List.of(), List.of(mondayMenu));
+        ZoneId zone = ZoneId.of("Asia/Seoul");
+        Clock nineAm = Clock.fixed(monday.atTime(9, 0).atZone(zone).toInstant(), zone);
+        MenuService realMenuService = MenuServiceFixture.create(menuStore, menuCrawler,
+                CrawlConfigFixture.defaults(), objectMapper, nineAm, mock(TaskScheduler.class),
+                mock(MenuUpdateBroadcaster.class), dir);
+        assertThatThrownBy(() -> realMenuService.getTodayMenu(monday)).isInstanceOf(MenuNotUploadedException.class);
+        assertThatThrownBy(() -> realMenuService.getTodayMenu(monday)).isInstanceOf(MenuNotUploadedException.class);
+        verify(menuCrawler, times(1)).crawlMenus(any(), any());
+
+        // When
+        slackConfigSetup();
+        new SlackNotifyService(realMenuService, slackMessageSender, slackConfig, nineAm).notifyTodayMenu();
+
+        // Then
+        verify(slackMessageSender, only()).sendMessage(anyString(), anyString(), payloadCaptor.capture());
+        assertThat(payloadCaptor.getValue().text()).contains("제육볶음");
+        menuStore.shutdown();
+    }
+
+    @Test
+    @DisplayName("With stale-while-revalidate on, the morning notification must wait for the crawl")
+    void shouldWaitForCrawlWithStaleWhileRevalidate(@TempDir File dir) throws IOException, InterruptedException {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapperConfig().mapper();
+        File dbFile = new File(dir, "db.json");
+        Files.writeString(dbFile.toPath(), "[]");
+        MenuRepository menuStore = new MenuRepository(dbFile, objectMapper);
+        menuStore.init();
+        MenuCrawler menuCrawler = mock(MenuCrawler.class);
+        when(menuCrawler.crawlMenus(any(), any()))
+                .thenReturn(List.of(new Menu(monday, List.of("김치찌개", "된장찌개", "제육볶음"))));
+        ZoneId zone = ZoneId.of("Asia/Seoul");
+        Clock nineAm = Clock.fixed(monday.atTime(9, 0).atZone(zone).toInstant(), zone);
+        CrawlConfig swr = CrawlConfigFixture.builder().staleWhileRevalidate().build();
+        MenuService realMenuService = MenuServiceFixture.create(menuStore, menuCrawler, swr, objectMapper, nineAm,
+                mock(TaskScheduler.class), mock(MenuUpdateBroadcaster.class), dir);
+
+        // When
+        slackConfigSetup();
+        new SlackNotifyService(realMenuService, slackMessageSender, slackConfig, nineAm).notifyTodayMenu();
+
+        // Then
+        verify(slackMessageSender, only()).sendMessage(anyString(), anyString(), payloadCaptor.capture());
+        assertThat(payloadCaptor.getValue().text()).contains("제육볶음");
+        menuStore.shutdown();
+    }
+
     void slackConfigSetup() {
         when(slackConfig.getSlackChannel()).thenReturn("#test-channel");
         when(slackConfig.getUserName()).thenReturn("TestUser");